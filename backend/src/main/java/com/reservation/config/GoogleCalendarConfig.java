@@ -28,9 +28,25 @@ public class GoogleCalendarConfig {
     @Value("${google.calendar.enabled:false}")
     private boolean googleCalendarEnabled;
     
+    // Alternative API root, e.g. http://localhost:8089/ for FakeGoogleCalendarServer
+    @Value("${google.calendar.root-url:}")
+    private String rootUrl;
+    
     @Bean
     public Calendar googleCalendar() throws GeneralSecurityException, IOException {
-        if (!googleCalendarEnabled || credentialsJson.isEmpty()) {
+        if (!googleCalendarEnabled) {
+            return null; // Calendar integration disabled
+        }
+        
+        if (!rootUrl.isEmpty()) {
+            // Local fake server: plain HTTP, no credentials needed
+            return new Calendar.Builder(new NetHttpTransport(), JSON_FACTORY, null)
+                    .setApplicationName(APPLICATION_NAME)
+                    .setRootUrl(rootUrl.endsWith("/") ? rootUrl : rootUrl + "/")
+                    .build();
+        }
+        
+        if (credentialsJson.isEmpty()) {
             return null; // Calendar integration disabled
         }
         
@@ -0,0 +1,106 @@
+package com.reservation.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the number of requests in flight at a multiple of the database connection pool size.
+ * With platform threads Tomcat's thread pool is the cap; with virtual threads there is none,
+ * and a burst would otherwise queue thousands of requests on the connection pool until they
+ * time out there. Requests wait up to a short time for a permit and are then answered with
+ * 503 and Retry-After. Long-lived streams only hold a permit until their async start.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestConcurrencyFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final long maxWaitMs;
+    private final Semaphore permits;
+
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong waited = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public RequestConcurrencyFilter(@Value("${app.concurrency.enabled:#{null}}") Boolean enabled,
+                                    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                    @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+                                    @Value("${app.concurrency.requests-per-connection:4}") int requestsPerConnection,
+                                    @Value("${app.concurrency.max-wait-ms:2000}") long maxWaitMs) {
+        // By default only where Tomcat really runs on virtual threads; on Java 17 the flag is
+        // ignored and Tomcat's own thread pool is still the cap
+        this.enabled = enabled != null ? enabled : virtualThreads && ThreadFactories.virtualThreadsAvailable();
+        this.maxConcurrent = Math.max(1, connectionPoolSize * requestsPerConnection);
+        this.maxWaitMs = maxWaitMs;
+        this.permits = new Semaphore(maxConcurrent, true);
+        if (this.enabled) {
+            log.info("🚦 Request concurrency limited to {} ({} connections x {})",
+                    maxConcurrent, connectionPoolSize, requestsPerConnection);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!acquire()) {
+            rejected.incrementAndGet();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server busy, retry shortly");
+            return;
+        }
+        admitted.incrementAndGet();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean acquire() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        waited.incrementAndGet();
+        try {
+            return permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("maxConcurrent", maxConcurrent);
+        stats.put("inFlight", maxConcurrent - permits.availablePermits());
+        stats.put("admitted", admitted.get());
+        stats.put("waited", waited.get());
+        stats.put("rejected", rejected.get());
+        return stats;
+    }
+}
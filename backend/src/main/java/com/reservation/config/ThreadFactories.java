@@ -0,0 +1,54 @@
+package com.reservation.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for the application's own pools. Pools that mostly wait on I/O (Google
+ * Calendar, LLM, change feed) use virtual threads when {@code spring.threads.virtual.enabled}
+ * is set and the runtime is Java 21 or newer; otherwise, and always for CPU-bound work, they
+ * get named daemon platform threads. The project compiles for Java 17, so virtual threads are
+ * created reflectively.
+ */
+@Slf4j
+public final class ThreadFactories {
+
+    private ThreadFactories() {
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    /**
+     * Factory for threads named {@code prefix-1}, {@code prefix-2}, ...
+     */
+    public static ThreadFactory io(String prefix, boolean virtual) {
+        if (virtual) {
+            if (virtualThreadsAvailable()) {
+                try {
+                    Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                    Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                    builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix + "-", 1L);
+                    return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+                } catch (ReflectiveOperationException e) {
+                    log.warn("⚠️ Could not create virtual threads for {}, using platform threads: {}", prefix, e.getMessage());
+                }
+            } else {
+                log.warn("⚠️ Virtual threads need Java 21+ (running {}), {} uses platform threads", Runtime.version().feature(), prefix);
+            }
+        }
+        return platform(prefix);
+    }
+
+    public static ThreadFactory platform(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
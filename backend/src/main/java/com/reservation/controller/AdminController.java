@@ -1,7 +1,11 @@
 package com.reservation.controller;
 
+import com.reservation.config.RequestConcurrencyFilter;
+import com.reservation.model.entity.Room;
+import com.reservation.model.listener.ReferenceDataChange;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +21,8 @@ import java.util.Map;
 public class AdminController {
 
     private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RequestConcurrencyFilter requestConcurrencyFilter;
 
     @PostMapping("/update-room-locations")
     public ResponseEntity<String> updateRoomLocations() {
@@ -95,6 +101,9 @@ public class AdminController {
             jdbcTemplate.update("UPDATE rooms SET location = 'Academic Center - General Classroom' WHERE id > 50 AND id <= 55");
             jdbcTemplate.update("UPDATE rooms SET location = 'Campus Center - Multi-Purpose Room' WHERE id > 55");
 
+            // Plain SQL bypasses the entity listeners, so announce the change ourselves
+            eventPublisher.publishEvent(new ReferenceDataChange(Room.class));
+
             log.info("✅ Room location updates completed successfully!");
             
             return ResponseEntity.ok("🎯 Room locations updated successfully! AI algorithm will now make precise room assignments.");
@@ -105,6 +114,11 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/concurrency")
+    public ResponseEntity<Map<String, Object>> getConcurrencyStats() {
+        return ResponseEntity.ok(requestConcurrencyFilter.getStats());
+    }
+
     @GetMapping("/verify-room-locations")
     public ResponseEntity<List<Map<String, Object>>> verifyRoomLocations() {
         try {
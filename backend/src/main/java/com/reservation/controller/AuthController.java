@@ -5,22 +5,31 @@ import com.reservation.dto.request.RegisterRequest;
 import com.reservation.dto.response.LoginResponse;
 import com.reservation.dto.response.UserResponse;
 import com.reservation.service.AuthService;
+import com.reservation.service.PasswordHashingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
     private final AuthService authService;
+    private final PasswordHashingService passwordHashingService;
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
-        LoginResponse response = authService.login(request);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
+        return authService.login(request).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/hashing-stats")
+    public ResponseEntity<Map<String, Object>> hashingStats() {
+        return ResponseEntity.ok(passwordHashingService.getStats());
     }
 
     @PostMapping("/register")
@@ -1,10 +1,16 @@
 package com.reservation.controller;
 
+import com.reservation.dto.response.CompactSchedule;
 import com.reservation.service.GoogleCalendarService;
+import com.reservation.service.ScheduleVersions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -18,18 +24,33 @@ import java.util.Map;
 public class CalendarController {
     
     private final GoogleCalendarService googleCalendarService;
+    private final ScheduleVersions scheduleVersions;
     
     /**
      * Get professor's weekly teaching schedule
      */
     @GetMapping("/professor/{professorEmail}/weekly")
     public ResponseEntity<Map<String, Object>> getProfessorWeeklySchedule(
-            @PathVariable String professorEmail) {
+            @PathVariable String professorEmail, WebRequest webRequest,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         
         try {
-            Map<String, Object> schedule = googleCalendarService.getProfessorWeeklySchedule(professorEmail);
+            boolean compact = CompactSchedule.isRequested(accept);
+            String etag = scheduleVersions.currentWeekTag();
+            if (compact) {
+                etag = ScheduleVersions.variant(etag, "compact");
+            }
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            Map<String, Object> schedule = googleCalendarService.getProfessorWeeklySchedule(professorEmail, compact);
             
-            return ResponseEntity.ok(schedule);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .contentType(compact ? CompactSchedule.MEDIA_TYPE : MediaType.APPLICATION_JSON)
+                    .body(schedule);
             
         } catch (Exception e) {
             log.error("Error getting professor weekly schedule: {}", e.getMessage(), e);
@@ -44,12 +65,26 @@ public class CalendarController {
      */
     @GetMapping("/student/{studentEmail}/weekly")
     public ResponseEntity<Map<String, Object>> getStudentWeeklySchedule(
-            @PathVariable String studentEmail) {
+            @PathVariable String studentEmail, WebRequest webRequest,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         
         try {
-            Map<String, Object> schedule = googleCalendarService.getStudentWeeklySchedule(studentEmail);
+            boolean compact = CompactSchedule.isRequested(accept);
+            String etag = scheduleVersions.currentWeekTag();
+            if (compact) {
+                etag = ScheduleVersions.variant(etag, "compact");
+            }
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            Map<String, Object> schedule = googleCalendarService.getStudentWeeklySchedule(studentEmail, compact);
             
-            return ResponseEntity.ok(schedule);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .contentType(compact ? CompactSchedule.MEDIA_TYPE : MediaType.APPLICATION_JSON)
+                    .body(schedule);
             
         } catch (Exception e) {
             log.error("Error getting student weekly schedule: {}", e.getMessage(), e);
@@ -1,14 +1,20 @@
 package com.reservation.controller;
 
 import com.reservation.service.AIChatbotService;
+import com.reservation.service.AIChatbotService.ClientDisconnectedException;
+import com.reservation.service.ChatbotResponseCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @RestController
@@ -17,7 +23,10 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class ChatbotController {
     
+    private static final long STREAM_TIMEOUT_MS = 120_000;
+    
     private final AIChatbotService chatbotService;
+    private final ChatbotResponseCache responseCache;
     
     @PostMapping("/message")
     public ResponseEntity<Map<String, Object>> sendMessage(@RequestBody Map<String, String> request) {
@@ -50,6 +59,65 @@ public class ChatbotController {
         }
     }
     
+    /**
+     * Stream the reply as Server-Sent Events: one "token" event ({"token": "..."}) per
+     * generated chunk, then a final "done" event. POST takes the same JSON body as /message.
+     * Tokens are JSON-wrapped because SSE strips a leading space from raw data lines.
+     */
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMessage(@RequestBody Map<String, String> request) {
+        return stream(request.get("message"));
+    }
+    
+    /**
+     * EventSource-friendly variant: /api/chatbot/stream?message=...
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMessageGet(@RequestParam String message) {
+        return stream(message);
+    }
+    
+    private SseEmitter stream(String userMessage) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        
+        if (userMessage == null || userMessage.trim().isEmpty()) {
+            sendAndComplete(emitter, "error", Map.of("error", "Message cannot be empty"));
+            return emitter;
+        }
+        
+        log.info("🤖 Received streaming chatbot message: {}", userMessage);
+        chatbotService.streamUserMessage(userMessage, token -> {
+            try {
+                emitter.send(SseEmitter.event().name("token").data(Map.of("token", token)));
+            } catch (IOException e) {
+                // Client went away; stop generating
+                throw new ClientDisconnectedException(e);
+            }
+        }).whenComplete((ignored, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause == null) {
+                sendAndComplete(emitter, "done", Map.of("timestamp", System.currentTimeMillis()));
+            } else if (cause instanceof ClientDisconnectedException) {
+                // Nothing more can be written to a dead connection
+                log.info("🤖 Chatbot client disconnected, stream stopped");
+                emitter.complete();
+            } else {
+                log.warn("⚠️ Chatbot stream ended early: {}", cause.getMessage());
+                emitter.completeWithError(cause);
+            }
+        });
+        return emitter;
+    }
+    
+    private void sendAndComplete(SseEmitter emitter, String eventName, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data));
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+    }
+    
     @GetMapping("/suggestions")
     public ResponseEntity<Map<String, Object>> getSuggestions() {
         try {
@@ -77,6 +145,7 @@ public class ChatbotController {
             "Conflict analysis",
             "Usage pattern analysis"
         ));
+        status.put("responseCache", responseCache.getStats());
         
         return ResponseEntity.ok(status);
     }
@@ -1,15 +1,27 @@
 package com.reservation.controller;
 
+import com.reservation.dto.mapper.ResponseMapper;
+import com.reservation.dto.response.CompactSchedule;
+import com.reservation.dto.response.EnhancedEventDto;
+import com.reservation.model.entity.Course;
 import com.reservation.model.entity.Event;
+import com.reservation.repository.CourseRepository;
 import com.reservation.repository.EventRepository;
+import com.reservation.service.EventColumnStore;
+import com.reservation.service.ScheduleVersions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
@@ -20,27 +32,50 @@ import java.util.stream.Collectors;
 public class EnhancedEventController {
 
     private final EventRepository eventRepository;
+    private final CourseRepository courseRepository;
+    private final EventColumnStore eventColumnStore;
+    private final ScheduleVersions scheduleVersions;
+    private final ResponseMapper responseMapper;
 
     @GetMapping
-    public ResponseEntity<List<EnhancedEventDto>> getAllEvents() {
-        List<Event> events = eventRepository.findAll();
-        List<EnhancedEventDto> eventDtos = events.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(eventDtos);
+    public ResponseEntity<?> getAllEvents(WebRequest webRequest,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return eventList(scheduleVersions.allEventsTag(), CompactSchedule.isRequested(accept), webRequest,
+                eventRepository::findAll);
     }
 
     @GetMapping("/week/{date}")
-    public ResponseEntity<List<EnhancedEventDto>> getEventsForWeek(@PathVariable String date) {
+    public ResponseEntity<?> getEventsForWeek(@PathVariable String date, WebRequest webRequest,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         LocalDate startDate = LocalDate.parse(date);
         LocalDate endDate = startDate.plusDays(6);
         
-        List<Event> events = eventRepository.findByDateBetween(startDate, endDate);
-        List<EnhancedEventDto> eventDtos = events.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return eventList(scheduleVersions.rangeTag(startDate, endDate), CompactSchedule.isRequested(accept), webRequest,
+                () -> eventRepository.findByDateBetween(startDate, endDate));
+    }
+
+    /**
+     * Conditional response for an event list, as {@link EnhancedEventDto}s or, when asked for,
+     * as a {@link CompactSchedule}. The loader only runs when the client's copy is stale.
+     */
+    private ResponseEntity<?> eventList(String etag, boolean compact, WebRequest webRequest,
+                                        Supplier<List<Event>> loader) {
+        if (compact) {
+            etag = ScheduleVersions.variant(etag, "compact");
+        }
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         
-        return ResponseEntity.ok(eventDtos);
+        List<Event> events = loader.get();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT);
+        if (compact) {
+            return response.contentType(CompactSchedule.MEDIA_TYPE).body(responseMapper.toCompactSchedule(events));
+        }
+        return response.body(responseMapper.toEnhancedDtos(events));
     }
 
     @GetMapping("/course/{courseId}")
@@ -49,9 +84,7 @@ public class EnhancedEventController {
         return ResponseEntity.ok(List.of());
         /*
         List<Event> events = eventRepository.findByCourseId(courseId);
-        List<EnhancedEventDto> eventDtos = events.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        List<EnhancedEventDto> eventDtos = responseMapper.toEnhancedDtos(events);
         
         return ResponseEntity.ok(eventDtos);
         */
@@ -59,119 +92,28 @@ public class EnhancedEventController {
 
     @GetMapping("/statistics")
     public ResponseEntity<Map<String, Object>> getEventStatistics() {
-        List<Event> allEvents = eventRepository.findAll();
+        long totalEvents = eventColumnStore.countEvents();
+        Map<Long, Long> eventsByCourse = eventColumnStore.countByCourseId();
+        long courseEvents = eventsByCourse.values().stream().mapToLong(Long::longValue).sum();
+
+        Map<String, Long> courseEventsBySubject = new HashMap<>();
+        if (!eventsByCourse.isEmpty()) {
+            for (Course course : courseRepository.findAllById(eventsByCourse.keySet())) {
+                courseEventsBySubject.merge(course.getSubject(), eventsByCourse.get(course.getId()), Long::sum);
+            }
+        }
         
         Map<String, Object> stats = Map.of(
-            "totalEvents", allEvents.size(),
-            "courseEvents", allEvents.stream().filter(e -> e.getCourse() != null).count(),
-            "nonCourseEvents", allEvents.stream().filter(e -> e.getCourse() == null).count(),
-            "eventsByType", allEvents.stream()
-                .collect(Collectors.groupingBy(
-                    e -> e.getType().name(),
-                    Collectors.counting()
-                )),
-            "eventsByStatus", allEvents.stream()
-                .collect(Collectors.groupingBy(
-                    e -> e.getStatus().name(),
-                    Collectors.counting()
-                )),
-            "courseEventsBySubject", allEvents.stream()
-                .filter(e -> e.getCourse() != null)
-                .collect(Collectors.groupingBy(
-                    e -> e.getCourse().getSubject(),
-                    Collectors.counting()
-                ))
+            "totalEvents", totalEvents,
+            "courseEvents", courseEvents,
+            "nonCourseEvents", totalEvents - courseEvents,
+            "eventsByType", eventColumnStore.countByType().entrySet().stream()
+                .collect(Collectors.toMap(e -> e.getKey().name(), Map.Entry::getValue)),
+            "eventsByStatus", eventColumnStore.countByStatus().entrySet().stream()
+                .collect(Collectors.toMap(e -> e.getKey().name(), Map.Entry::getValue)),
+            "courseEventsBySubject", courseEventsBySubject
         );
         
         return ResponseEntity.ok(stats);
     }
-
-    private EnhancedEventDto convertToDto(Event event) {
-        return EnhancedEventDto.builder()
-                .id(event.getId())
-                .title(event.getTitle())
-                .description(event.getDescription())
-                .date(event.getDate())
-                .startTime(event.getStartTime())
-                .endTime(event.getEndTime())
-                .type(event.getType().name())
-                .status(event.getStatus().name())
-                .expectedParticipants(event.getExpectedParticipants())
-                .teacher(event.getTeacher() != null ? TeacherDto.builder()
-                        .id(event.getTeacher().getId())
-                        .name(event.getTeacher().getName())
-                        .email(event.getTeacher().getEmail())
-                        .build() : null)
-                .room(event.getRoom() != null ? RoomDto.builder()
-                        .id(event.getRoom().getId())
-                        .name(event.getRoom().getName())
-                        .location(event.getRoom().getLocation())
-                        .capacity(event.getRoom().getCapacity())
-                        .build() : null)
-                .course(event.getCourse() != null ? CourseDto.builder()
-                        .id(event.getCourse().getId())
-                        .name(event.getCourse().getName())
-                        .subject(event.getCourse().getSubject())
-                        .durationHours(event.getCourse().getDurationHours())
-                        .sessionsPerWeek(event.getCourse().getSessionsPerWeek())
-                        .minCapacity(event.getCourse().getMinCapacity())
-                        .department(event.getCourse().getDepartment())
-                        .build() : null)
-                .build();
-    }
-
-    // DTO Classes
-    @lombok.Data
-    @lombok.Builder
-    @lombok.NoArgsConstructor
-    @lombok.AllArgsConstructor
-    public static class EnhancedEventDto {
-        private Long id;
-        private String title;
-        private String description;
-        private java.time.LocalDate date;
-        private java.time.LocalTime startTime;
-        private java.time.LocalTime endTime;
-        private String type;
-        private String status;
-        private Integer expectedParticipants;
-        private TeacherDto teacher;
-        private RoomDto room;
-        private CourseDto course;
-    }
-
-    @lombok.Data
-    @lombok.Builder
-    @lombok.NoArgsConstructor
-    @lombok.AllArgsConstructor
-    public static class TeacherDto {
-        private Long id;
-        private String name;
-        private String email;
-    }
-
-    @lombok.Data
-    @lombok.Builder
-    @lombok.NoArgsConstructor
-    @lombok.AllArgsConstructor
-    public static class RoomDto {
-        private Long id;
-        private String name;
-        private String location;
-        private Integer capacity;
-    }
-
-    @lombok.Data
-    @lombok.Builder
-    @lombok.NoArgsConstructor
-    @lombok.AllArgsConstructor
-    public static class CourseDto {
-        private Long id;
-        private String name;
-        private String subject;
-        private Integer durationHours;
-        private Integer sessionsPerWeek;
-        private Integer minCapacity;
-        private String department;
-    }
 }
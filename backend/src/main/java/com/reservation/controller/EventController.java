@@ -3,13 +3,23 @@ package com.reservation.controller;
 import com.reservation.dto.request.*;
 import com.reservation.dto.response.*;
 import com.reservation.service.EventService;
+import com.reservation.service.ScheduleChangeFeed;
+import com.reservation.service.ScheduleVersions;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/events")
@@ -17,6 +27,8 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final ScheduleVersions scheduleVersions;
+    private final ScheduleChangeFeed changeFeed;
 
     @PostMapping
     public ResponseEntity<EventResponse> createEvent(@Valid @RequestBody EventCreateRequest request) {
@@ -24,10 +36,29 @@ public class EventController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * All events as {@link EventResponse}s, or as a {@link CompactSchedule} when the client
+     * accepts {@value CompactSchedule#MEDIA_TYPE_VALUE}.
+     */
     @GetMapping
-    public ResponseEntity<List<EventResponse>> getAllEvents() {
-        List<EventResponse> events = eventService.getAllEvents();
-        return ResponseEntity.ok(events);
+    public ResponseEntity<?> getAllEvents(WebRequest webRequest,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        boolean compact = CompactSchedule.isRequested(accept);
+        String etag = scheduleVersions.allEventsTag();
+        if (compact) {
+            etag = ScheduleVersions.variant(etag, "compact");
+        }
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT);
+        if (compact) {
+            return response.contentType(CompactSchedule.MEDIA_TYPE).body(eventService.getAllEventsCompact());
+        }
+        return response.body(eventService.getAllEvents());
     }
 
     @GetMapping("/{id}")
@@ -99,4 +130,32 @@ public class EventController {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    /**
+     * Server-sent stream of schedule changes, optionally limited to one week (any date in
+     * it), room or teacher. Browsers reconnect with Last-Event-ID and get what they missed.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate week,
+            @RequestParam(required = false) Long roomId,
+            @RequestParam(required = false) Long teacherId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        try {
+            SseEmitter emitter = changeFeed.subscribe(ScheduleChangeFeed.Filter.of(week, roomId, teacherId), lastEventId);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .header("X-Accel-Buffering", "no")
+                    .body(emitter);
+        } catch (ScheduleChangeFeed.FeedFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+    }
+
+    @GetMapping("/changes/stats")
+    public ResponseEntity<Map<String, Object>> getChangeFeedStats() {
+        return ResponseEntity.ok(changeFeed.getStats());
+    }
 }
@@ -0,0 +1,52 @@
+package com.reservation.controller;
+
+import com.reservation.dto.request.ExportFilterRequest;
+import com.reservation.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+public class ExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
+    private final ExportService exportService;
+
+    /**
+     * Stream all matching events as CSV, e.g. /api/export/events?from=2024-01-01&to=2025-12-31&roomId=3
+     */
+    @GetMapping("/events")
+    public ResponseEntity<StreamingResponseBody> exportEvents(@ModelAttribute ExportFilterRequest filter) {
+        log.info("📤 Event export requested: {}", filter);
+        StreamingResponseBody body = out -> exportService.writeEventsCsv(filter, out);
+        return csv("events-" + LocalDate.now() + ".csv", body);
+    }
+
+    /**
+     * Stream per-day, per-room usage aggregates as CSV. Accepts the same filters as /events.
+     */
+    @GetMapping("/analytics")
+    public ResponseEntity<StreamingResponseBody> exportAnalytics(@ModelAttribute ExportFilterRequest filter) {
+        log.info("📤 Analytics export requested: {}", filter);
+        StreamingResponseBody body = out -> exportService.writeAnalyticsCsv(filter, out);
+        return csv("analytics-" + LocalDate.now() + ".csv", body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> csv(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
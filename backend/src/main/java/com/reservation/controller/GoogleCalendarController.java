@@ -1,5 +1,7 @@
 package com.reservation.controller;
 
+import com.reservation.service.CalendarOutbox;
+import com.reservation.service.CalendarOutboxWorker;
 import com.reservation.service.GoogleCalendarService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +19,12 @@ public class GoogleCalendarController {
     @Autowired
     private GoogleCalendarService googleCalendarService;
 
+    @Autowired
+    private CalendarOutbox calendarOutbox;
+
+    @Autowired
+    private CalendarOutboxWorker calendarOutboxWorker;
+
     /**
      * Sync admin schedule to Google Calendar with student emails as attendees
      */
@@ -174,6 +182,55 @@ public class GoogleCalendarController {
         }
     }
 
+    /**
+     * Sync throughput (events/s of the last full sync, events pushed in total) and the
+     * current per-calendar API rate
+     */
+    @GetMapping("/sync/metrics")
+    public ResponseEntity<Map<String, Object>> getSyncMetrics() {
+        try {
+            return ResponseEntity.ok(googleCalendarService.getSyncMetrics());
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Failed to read sync metrics: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    /**
+     * Calendar outbox backlog and worker counters (event changes waiting to reach Google)
+     */
+    @GetMapping("/sync/outbox")
+    public ResponseEntity<Map<String, Object>> getOutboxStatus() {
+        try {
+            return ResponseEntity.ok(calendarOutboxWorker.getStats());
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Failed to read calendar outbox: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    /**
+     * Retry every outbox entry that ran out of attempts
+     */
+    @PostMapping("/sync/outbox/retry")
+    public ResponseEntity<Map<String, Object>> retryDeadOutboxEntries() {
+        Map<String, Object> response = new HashMap<>();
+        
+        try {
+            int requeued = calendarOutbox.requeueDead();
+            response.put("success", true);
+            response.put("requeued", requeued);
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("error", "Failed to requeue outbox entries: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
     /**
      * Get calendar sync status
      */
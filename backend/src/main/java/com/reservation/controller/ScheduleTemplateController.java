@@ -2,11 +2,18 @@ package com.reservation.controller;
 
 import com.reservation.model.entity.ScheduleTemplate;
 import com.reservation.repository.ScheduleTemplateRepository;
+import com.reservation.service.PublishedWeekSnapshots;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/schedule-templates")
@@ -14,6 +21,7 @@ import java.util.List;
 public class ScheduleTemplateController {
 
     private final ScheduleTemplateRepository scheduleTemplateRepository;
+    private final PublishedWeekSnapshots publishedWeekSnapshots;
 
     @GetMapping
     public ResponseEntity<List<ScheduleTemplate>> getAllTemplates() {
@@ -56,4 +64,67 @@ public class ScheduleTemplateController {
     public ResponseEntity<List<ScheduleTemplate>> getTemplatesByStatus(@PathVariable ScheduleTemplate.ScheduleStatus status) {
         return ResponseEntity.ok(scheduleTemplateRepository.findByStatus(status));
     }
+
+    /**
+     * Events of a published template's week. The body is a prebuilt snapshot, written as stored
+     * gzip bytes when the client accepts gzip and as plain JSON otherwise.
+     */
+    @GetMapping("/{id}/published")
+    public ResponseEntity<byte[]> getPublishedWeek(
+            @PathVariable Long id, WebRequest webRequest,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Optional<PublishedWeekSnapshots.Snapshot> found = publishedWeekSnapshots.get(id);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        PublishedWeekSnapshots.Snapshot snapshot = found.get();
+        if (webRequest.checkNotModified(snapshot.getEtag())) {
+            return null;
+        }
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        byte[] body = gzip ? snapshot.getGzip() : snapshot.getJson();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @GetMapping("/published/stats")
+    public ResponseEntity<Map<String, Object>> getPublishedSnapshotStats() {
+        return ResponseEntity.ok(publishedWeekSnapshots.getStats());
+    }
+
+    // gzip (or *) listed in Accept-Encoding without q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim().replace(" ", "");
+                if (param.startsWith("q=")) {
+                    try {
+                        rejected = Double.parseDouble(param.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        rejected = true;
+                    }
+                }
+            }
+            return !rejected;
+        }
+        return false;
+    }
 }
@@ -1,7 +1,9 @@
 package com.reservation.controller;
 
+import com.reservation.dto.response.OccupancyHeatmapResponse;
 import com.reservation.service.EnhancedWeeklyScheduleService;
 import com.reservation.service.FastProfessionalScheduler;
+import com.reservation.service.OccupancyHeatmapService;
 import com.reservation.service.SchedulingAnalyticsService;
 import com.reservation.repository.EventRepository;
 import com.reservation.repository.RoomRepository;
@@ -9,10 +11,12 @@ import com.reservation.repository.CourseRepository;
 import com.reservation.model.entity.Event;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -27,6 +31,7 @@ public class WeeklyScheduleController {
     private final EnhancedWeeklyScheduleService enhancedScheduleService;
     private final FastProfessionalScheduler fastProfessionalScheduler;
     private final SchedulingAnalyticsService analyticsService;
+    private final OccupancyHeatmapService occupancyHeatmapService;
     private final EventRepository eventRepository;
     private final RoomRepository roomRepository;
     private final CourseRepository courseRepository;
@@ -201,4 +206,27 @@ public class WeeklyScheduleController {
             return ResponseEntity.status(500).body("Error fetching subject-room matching stats: " + e.getMessage());
         }
     }
+    
+    @GetMapping("/analytics/heatmap")
+    public ResponseEntity<?> getOccupancyHeatmap(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "30") int slotMinutes,
+            @RequestParam(defaultValue = "8") int startHour,
+            @RequestParam(defaultValue = "20") int endHour,
+            @RequestParam(defaultValue = "dense") String encoding) {
+        try {
+            LocalDate windowStart = from != null ? from : LocalDate.now().with(DayOfWeek.MONDAY);
+            LocalDate windowEnd = to != null ? to : windowStart.plusDays(6);
+            log.info("📊 Getting occupancy heatmap {}..{} ({} min slots)", windowStart, windowEnd, slotMinutes);
+            OccupancyHeatmapResponse heatmap = occupancyHeatmapService.buildHeatmap(
+                    windowStart, windowEnd, slotMinutes, startHour, endHour, "rle".equalsIgnoreCase(encoding));
+            return ResponseEntity.ok(heatmap);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("❌ Occupancy heatmap failed: {}", e.getMessage(), e);
+            return ResponseEntity.status(500).body("Error building occupancy heatmap: " + e.getMessage());
+        }
+    }
 }
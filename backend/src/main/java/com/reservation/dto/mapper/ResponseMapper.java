@@ -0,0 +1,295 @@
+package com.reservation.dto.mapper;
+
+import com.reservation.dto.response.CompactSchedule;
+import com.reservation.dto.response.EnhancedEventDto;
+import com.reservation.dto.response.EventResponse;
+import com.reservation.dto.response.RoomResponse;
+import com.reservation.dto.response.UserResponse;
+import com.reservation.model.entity.Course;
+import com.reservation.model.entity.Event;
+import com.reservation.model.entity.Room;
+import com.reservation.model.entity.User;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The one place where events and the rooms, teachers and courses they reference are turned
+ * into response DTOs. Plain field copies, no reflection.
+ *
+ * Mapping goes through a {@link Session} that hands out one DTO per room, teacher and course
+ * id, so a response with 500 events in 20 rooms holds 20 room DTOs, not 500. A session lives
+ * for one response; the shared DTOs are not to be modified after mapping.
+ */
+@Component
+public class ResponseMapper {
+
+    public Session session() {
+        return new Session();
+    }
+
+    public EventResponse toEventResponse(Event event) {
+        return session().event(event);
+    }
+
+    public List<EventResponse> toEventResponses(Collection<Event> events) {
+        Session session = session();
+        List<EventResponse> responses = new ArrayList<>(events.size());
+        for (Event event : events) {
+            responses.add(session.event(event));
+        }
+        return responses;
+    }
+
+    public List<EnhancedEventDto> toEnhancedDtos(Collection<Event> events) {
+        Session session = session();
+        List<EnhancedEventDto> dtos = new ArrayList<>(events.size());
+        for (Event event : events) {
+            dtos.add(session.enhanced(event));
+        }
+        return dtos;
+    }
+
+    /**
+     * Events in the dictionary-normalized {@link CompactSchedule} form.
+     */
+    public CompactSchedule toCompactSchedule(Collection<Event> events) {
+        Session session = session();
+        Dictionary<EnhancedEventDto.RoomDto> rooms = new Dictionary<>();
+        Dictionary<EnhancedEventDto.TeacherDto> teachers = new Dictionary<>();
+        Dictionary<EnhancedEventDto.CourseDto> courses = new Dictionary<>();
+
+        LocalDate baseDate = null;
+        for (Event event : events) {
+            if (event.getDate() != null && (baseDate == null || event.getDate().isBefore(baseDate))) {
+                baseDate = event.getDate();
+            }
+        }
+
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (Event event : events) {
+            rows.add(new Object[]{
+                    event.getId(),
+                    event.getDate() != null ? (int) (event.getDate().toEpochDay() - baseDate.toEpochDay()) : null,
+                    minuteOfDay(event.getStartTime()),
+                    minuteOfDay(event.getEndTime()),
+                    event.getType(),
+                    event.getStatus(),
+                    event.getTitle(),
+                    event.getDescription(),
+                    event.getExpectedParticipants(),
+                    rooms.indexOf(session.roomDto(event.getRoom())),
+                    teachers.indexOf(session.teacherDto(event.getTeacher())),
+                    courses.indexOf(session.courseDto(event.getCourse()))
+            });
+        }
+
+        return CompactSchedule.builder()
+                .format(CompactSchedule.FORMAT)
+                .fields(CompactSchedule.FIELDS)
+                .baseDate(baseDate)
+                .rooms(rooms.entries)
+                .teachers(teachers.entries)
+                .courses(courses.entries)
+                .events(rows)
+                .build();
+    }
+
+    private static Integer minuteOfDay(LocalTime time) {
+        return time != null ? time.getHour() * 60 + time.getMinute() : null;
+    }
+
+    public UserResponse toUserResponse(User user) {
+        return session().user(user);
+    }
+
+    public static final class Session {
+        private final Map<Long, RoomResponse> rooms = new HashMap<>();
+        private final Map<Long, UserResponse> users = new HashMap<>();
+        private final Map<Long, EnhancedEventDto.RoomDto> roomDtos = new HashMap<>();
+        private final Map<Long, EnhancedEventDto.TeacherDto> teacherDtos = new HashMap<>();
+        private final Map<Long, EnhancedEventDto.CourseDto> courseDtos = new HashMap<>();
+
+        private Session() {
+        }
+
+        public EventResponse event(Event event) {
+            return EventResponse.builder()
+                    .id(event.getId())
+                    .type(event.getType())
+                    .date(event.getDate())
+                    .startTime(event.getStartTime())
+                    .endTime(event.getEndTime())
+                    .room(room(event.getRoom()))
+                    .teacher(user(event.getTeacher()))
+                    .status(event.getStatus())
+                    .title(event.getTitle())
+                    .description(event.getDescription())
+                    .expectedParticipants(event.getExpectedParticipants())
+                    .preferredDates(event.getPreferredDates())
+                    .build();
+        }
+
+        public RoomResponse room(Room room) {
+            if (room == null) {
+                return null;
+            }
+            if (room.getId() == null) {
+                return newRoom(room);
+            }
+            RoomResponse dto = rooms.get(room.getId());
+            if (dto == null) {
+                dto = newRoom(room);
+                rooms.put(room.getId(), dto);
+            }
+            return dto;
+        }
+
+        public UserResponse user(User user) {
+            if (user == null) {
+                return null;
+            }
+            if (user.getId() == null) {
+                return newUser(user);
+            }
+            UserResponse dto = users.get(user.getId());
+            if (dto == null) {
+                dto = newUser(user);
+                users.put(user.getId(), dto);
+            }
+            return dto;
+        }
+
+        public EnhancedEventDto enhanced(Event event) {
+            return EnhancedEventDto.builder()
+                    .id(event.getId())
+                    .title(event.getTitle())
+                    .description(event.getDescription())
+                    .date(event.getDate())
+                    .startTime(event.getStartTime())
+                    .endTime(event.getEndTime())
+                    .type(event.getType() != null ? event.getType().name() : null)
+                    .status(event.getStatus() != null ? event.getStatus().name() : null)
+                    .expectedParticipants(event.getExpectedParticipants())
+                    .teacher(teacherDto(event.getTeacher()))
+                    .room(roomDto(event.getRoom()))
+                    .course(courseDto(event.getCourse()))
+                    .build();
+        }
+
+        private EnhancedEventDto.TeacherDto teacherDto(User teacher) {
+            if (teacher == null) {
+                return null;
+            }
+            if (teacher.getId() == null) {
+                return newTeacherDto(teacher);
+            }
+            EnhancedEventDto.TeacherDto dto = teacherDtos.get(teacher.getId());
+            if (dto == null) {
+                dto = newTeacherDto(teacher);
+                teacherDtos.put(teacher.getId(), dto);
+            }
+            return dto;
+        }
+
+        private EnhancedEventDto.RoomDto roomDto(Room room) {
+            if (room == null) {
+                return null;
+            }
+            if (room.getId() == null) {
+                return newRoomDto(room);
+            }
+            EnhancedEventDto.RoomDto dto = roomDtos.get(room.getId());
+            if (dto == null) {
+                dto = newRoomDto(room);
+                roomDtos.put(room.getId(), dto);
+            }
+            return dto;
+        }
+
+        private EnhancedEventDto.CourseDto courseDto(Course course) {
+            if (course == null) {
+                return null;
+            }
+            if (course.getId() == null) {
+                return newCourseDto(course);
+            }
+            EnhancedEventDto.CourseDto dto = courseDtos.get(course.getId());
+            if (dto == null) {
+                dto = newCourseDto(course);
+                courseDtos.put(course.getId(), dto);
+            }
+            return dto;
+        }
+
+        private static EnhancedEventDto.TeacherDto newTeacherDto(User teacher) {
+            return EnhancedEventDto.TeacherDto.builder()
+                    .id(teacher.getId())
+                    .name(teacher.getName())
+                    .email(teacher.getEmail())
+                    .build();
+        }
+
+        private static EnhancedEventDto.RoomDto newRoomDto(Room room) {
+            return EnhancedEventDto.RoomDto.builder()
+                    .id(room.getId())
+                    .name(room.getName())
+                    .location(room.getLocation())
+                    .capacity(room.getCapacity())
+                    .build();
+        }
+
+        private static EnhancedEventDto.CourseDto newCourseDto(Course course) {
+            return EnhancedEventDto.CourseDto.builder()
+                    .id(course.getId())
+                    .name(course.getName())
+                    .subject(course.getSubject())
+                    .durationHours(course.getDurationHours())
+                    .sessionsPerWeek(course.getSessionsPerWeek())
+                    .minCapacity(course.getMinCapacity())
+                    .department(course.getDepartment())
+                    .build();
+        }
+
+        private static RoomResponse newRoom(Room room) {
+            return RoomResponse.builder()
+                    .id(room.getId())
+                    .name(room.getName())
+                    .capacity(room.getCapacity())
+                    .location(room.getLocation())
+                    .build();
+        }
+
+        private static UserResponse newUser(User user) {
+            return UserResponse.builder()
+                    .id(user.getId())
+                    .name(user.getName())
+                    .email(user.getEmail())
+                    .role(user.getRole())
+                    .build();
+        }
+    }
+
+    // Position of each (interned) DTO in a compact schedule table
+    private static final class Dictionary<T> {
+        private final Map<T, Integer> indexes = new IdentityHashMap<>();
+        private final List<T> entries = new ArrayList<>();
+
+        Integer indexOf(T entry) {
+            if (entry == null) {
+                return null;
+            }
+            return indexes.computeIfAbsent(entry, e -> {
+                entries.add(e);
+                return entries.size() - 1;
+            });
+        }
+    }
+}
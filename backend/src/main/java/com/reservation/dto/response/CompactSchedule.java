@@ -0,0 +1,46 @@
+package com.reservation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Normalized form of an event list, served instead of the regular JSON when a client asks
+ * for {@link #MEDIA_TYPE}. Rooms, teachers and courses are listed once in dictionary
+ * tables; each event is one array row whose values follow {@link #FIELDS}, with the day as
+ * an offset from {@code baseDate}, times as minutes since midnight and room, teacher and
+ * course as indexes into the tables (null when absent).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CompactSchedule {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.reservation.compact+json";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+    public static final String FORMAT = "compact-v1";
+    public static final List<String> FIELDS = List.of(
+            "id", "day", "startMinute", "endMinute", "type", "status", "title", "description",
+            "expectedParticipants", "room", "teacher", "course");
+
+    /**
+     * Whether an Accept header explicitly asks for the compact form.
+     */
+    public static boolean isRequested(String accept) {
+        return accept != null && accept.contains(MEDIA_TYPE_VALUE);
+    }
+
+    private String format;
+    private List<String> fields;
+    private LocalDate baseDate;
+    private List<EnhancedEventDto.RoomDto> rooms;
+    private List<EnhancedEventDto.TeacherDto> teachers;
+    private List<EnhancedEventDto.CourseDto> courses;
+    private List<Object[]> events;
+}
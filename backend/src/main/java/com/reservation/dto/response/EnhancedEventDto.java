@@ -0,0 +1,63 @@
+package com.reservation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EnhancedEventDto {
+    private Long id;
+    private String title;
+    private String description;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String type;
+    private String status;
+    private Integer expectedParticipants;
+    private TeacherDto teacher;
+    private RoomDto room;
+    private CourseDto course;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TeacherDto {
+        private Long id;
+        private String name;
+        private String email;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RoomDto {
+        private Long id;
+        private String name;
+        private String location;
+        private Integer capacity;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CourseDto {
+        private Long id;
+        private String name;
+        private String subject;
+        private Integer durationHours;
+        private Integer sessionsPerWeek;
+        private Integer minCapacity;
+        private String department;
+    }
+}
@@ -0,0 +1,33 @@
+package com.reservation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Room x time-of-day occupancy matrix. Row {@code i} belongs to {@code roomIds[i]}; each row
+ * has {@code slotsPerRoom} cells holding the occupied minutes of that slot summed over every
+ * day of the window. Cells are either sent densely ({@code cells}, row-major) or, with
+ * {@code encoding = "rle"}, as base64 varint pairs of (value, run length) in {@code rle}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OccupancyHeatmapResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private int slotMinutes;
+    private int startHour;
+    private int endHour;
+    private int slotsPerRoom;
+    private List<Long> roomIds;
+    private List<String> roomNames;
+    private String encoding;
+    private int[] cells;
+    private String rle;
+}
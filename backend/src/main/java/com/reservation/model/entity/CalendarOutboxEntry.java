@@ -0,0 +1,62 @@
+package com.reservation.model.entity;
+
+import com.reservation.model.enums.CalendarOutboxOperation;
+import com.reservation.model.enums.CalendarOutboxStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One reservation event change still to be propagated to Google Calendar. Rows are
+ * written in the same transaction as the change itself and deleted once the worker has
+ * pushed them; rows that keep failing end up {@code DEAD} for inspection.
+ */
+@Entity
+@Table(name = "calendar_outbox", indexes = {
+    @Index(name = "idx_calendar_outbox_due", columnList = "status, next_attempt_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalendarOutboxEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+    
+    // Only set for deletions: the event row is gone by the time the worker runs
+    @Column(name = "google_event_id")
+    private String googleEventId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private CalendarOutboxOperation operation;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private CalendarOutboxStatus status;
+    
+    @Column(nullable = false)
+    private Integer attempts;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    // Lease held by the worker that claimed the row; expired leases can be claimed again
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
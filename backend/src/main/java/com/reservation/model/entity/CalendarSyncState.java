@@ -0,0 +1,32 @@
+package com.reservation.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inbound sync position for one Google calendar: the sync token returned by the last
+ * events.list call, so the next pull only returns what changed since.
+ */
+@Entity
+@Table(name = "calendar_sync_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalendarSyncState {
+    
+    @Id
+    @Column(name = "calendar_id")
+    private String calendarId;
+    
+    @Column(name = "sync_token", length = 1024)
+    private String syncToken;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -1,5 +1,6 @@
 package com.reservation.model.entity;
 
+import com.reservation.model.listener.ReferenceDataChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,6 +9,7 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "courses")
+@EntityListeners(ReferenceDataChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -2,18 +2,23 @@ package com.reservation.model.entity;
 
 import com.reservation.model.enums.EventStatus;
 import com.reservation.model.enums.EventType;
+import com.reservation.model.listener.EventChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
 @Entity
 @Table(name = "events")
+@EntityListeners(EventChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -63,10 +68,40 @@ public class Event {
     @Column
     private Integer expectedParticipants;
     
-    // Google Calendar Integration
-    @Column(name = "google_event_id", unique = true)
+    // Google Calendar Integration. Written only by the calendar sync and outbox worker over JDBC;
+    // read-only here so saving an entity loaded earlier cannot put back a stale id or hash
+    @Column(name = "google_event_id", unique = true, insertable = false, updatable = false)
     private String googleEventId;
     
+    // Hash of the Google Calendar payload last pushed; a mismatch means the event needs a patch
+    @Column(name = "calendar_sync_hash", length = 64, insertable = false, updatable = false)
+    private String calendarSyncHash;
+    
+    @Column(name = "last_synced_at", insertable = false, updatable = false)
+    private LocalDateTime lastSyncedAt;
+    
+    // Google's etag of the event as our last insert or patch left it; any other etag on an
+    // inbound change means the event was edited on the Google side
+    @Column(name = "google_etag", insertable = false, updatable = false)
+    private String googleEtag;
+    
+    // Date, room and teacher as last read from or written to the database, so a change can
+    // tell which week, room and teacher the event left
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private LocalDate persistedDate;
+    
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Long persistedRoomId;
+    
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Long persistedTeacherId;
+    
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "event_preferred_dates", 
                      joinColumns = @JoinColumn(name = "event_id"),
@@ -1,5 +1,6 @@
 package com.reservation.model.entity;
 
+import com.reservation.model.listener.ReferenceDataChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,6 +12,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "schedule_templates")
+@EntityListeners(ReferenceDataChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,14 +1,20 @@
 package com.reservation.model.entity;
 
 import com.reservation.model.enums.Role;
+import com.reservation.model.listener.UserChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,16 +38,31 @@ public class User {
     @Column(nullable = false)
     private Role role;
     
+    // When the password was last set by its owner or an admin; a hash upgrade on login keeps it
+    @Column(name = "password_changed_at")
+    private LocalDateTime passwordChangedAt;
+    
+    // Email as last read from or written to the database, so a change can tell the address
+    // the user had before
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String persistedEmail;
+    
     // Manual getters in case Lombok fails
     public Long getId() { return id; }
     public String getName() { return name; }
     public String getEmail() { return email; }
     public String getPassword() { return password; }
     public Role getRole() { return role; }
+    public LocalDateTime getPasswordChangedAt() { return passwordChangedAt; }
+    public String getPersistedEmail() { return persistedEmail; }
     
     public void setId(Long id) { this.id = id; }
     public void setName(String name) { this.name = name; }
     public void setEmail(String email) { this.email = email; }
     public void setPassword(String password) { this.password = password; }
     public void setRole(Role role) { this.role = role; }
+    public void setPasswordChangedAt(LocalDateTime passwordChangedAt) { this.passwordChangedAt = passwordChangedAt; }
+    public void setPersistedEmail(String persistedEmail) { this.persistedEmail = persistedEmail; }
 }
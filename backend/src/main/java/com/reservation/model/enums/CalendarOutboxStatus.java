@@ -0,0 +1,6 @@
+package com.reservation.model.enums;
+
+public enum CalendarOutboxStatus {
+    PENDING,
+    DEAD
+}
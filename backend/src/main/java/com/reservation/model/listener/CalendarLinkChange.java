@@ -0,0 +1,19 @@
+package com.reservation.model.listener;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Google event ids written or cleared for events by the calendar sync, which updates those
+ * columns over JDBC and so bypasses {@link EventChangeListener}. Published by
+ * GoogleCalendarService so views showing the ids can be refreshed; it is deliberately not an
+ * {@link EventChange}, which would push the events to the outbox again.
+ */
+@Value
+public class CalendarLinkChange {
+
+    // Event id -> the event's date
+    Map<Long, LocalDate> events;
+}
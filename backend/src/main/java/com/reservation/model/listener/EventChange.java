@@ -0,0 +1,59 @@
+package com.reservation.model.listener;
+
+import com.reservation.model.entity.Event;
+import com.reservation.model.enums.EventStatus;
+import com.reservation.model.enums.EventType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Immutable snapshot of a persisted {@link Event} change, published as a Spring
+ * application event by {@link EventChangeListener}. Only identifiers are captured,
+ * so building it never initializes lazy room/teacher/course proxies.
+ */
+@Value
+@Builder
+public class EventChange {
+
+    public enum Kind {
+        CREATED, UPDATED, DELETED
+    }
+
+    Kind kind;
+    Long eventId;
+    LocalDate date;
+    LocalTime startTime;
+    LocalTime endTime;
+    Long roomId;
+    Long teacherId;
+    Long courseId;
+    EventType type;
+    EventStatus status;
+    String googleEventId;
+    // State before this change (null for new events); differs when an event moved
+    LocalDate previousDate;
+    Long previousRoomId;
+    Long previousTeacherId;
+
+    public static EventChange of(Kind kind, Event event) {
+        return EventChange.builder()
+                .kind(kind)
+                .eventId(event.getId())
+                .date(event.getDate())
+                .startTime(event.getStartTime())
+                .endTime(event.getEndTime())
+                .roomId(event.getRoom() != null ? event.getRoom().getId() : null)
+                .teacherId(event.getTeacher() != null ? event.getTeacher().getId() : null)
+                .courseId(event.getCourse() != null ? event.getCourse().getId() : null)
+                .type(event.getType())
+                .status(event.getStatus())
+                .googleEventId(event.getGoogleEventId())
+                .previousDate(event.getPersistedDate())
+                .previousRoomId(event.getPersistedRoomId())
+                .previousTeacherId(event.getPersistedTeacherId())
+                .build();
+    }
+}
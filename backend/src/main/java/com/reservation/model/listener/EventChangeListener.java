@@ -0,0 +1,51 @@
+package com.reservation.model.listener;
+
+import com.reservation.model.entity.Event;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns every insert, update and delete of an {@link Event}
+ * into an {@link EventChange}. Hibernate resolves it through Spring's bean container,
+ * so every write path (services, schedulers, initializers) is covered without having
+ * to touch each call site.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostLoad
+    public void onLoaded(Event event) {
+        rememberPersistedState(event);
+    }
+
+    @PostPersist
+    public void onCreated(Event event) {
+        eventPublisher.publishEvent(EventChange.of(EventChange.Kind.CREATED, event));
+        rememberPersistedState(event);
+    }
+
+    @PostUpdate
+    public void onUpdated(Event event) {
+        eventPublisher.publishEvent(EventChange.of(EventChange.Kind.UPDATED, event));
+        rememberPersistedState(event);
+    }
+
+    @PostRemove
+    public void onDeleted(Event event) {
+        eventPublisher.publishEvent(EventChange.of(EventChange.Kind.DELETED, event));
+    }
+
+    private static void rememberPersistedState(Event event) {
+        event.setPersistedDate(event.getDate());
+        event.setPersistedRoomId(event.getRoom() != null ? event.getRoom().getId() : null);
+        event.setPersistedTeacherId(event.getTeacher() != null ? event.getTeacher().getId() : null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.reservation.model.listener;
+
+import lombok.Value;
+
+/**
+ * Persisted change of reference data shown alongside events (rooms and courses),
+ * published by {@link ReferenceDataChangeListener}.
+ */
+@Value
+public class ReferenceDataChange {
+
+    Class<?> entityType;
+}
@@ -0,0 +1,27 @@
+package com.reservation.model.listener;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener for rooms, courses and schedule templates: room and course names are
+ * embedded in schedule responses and a template decides whether its week is published, so
+ * any insert, update or delete is published as a {@link ReferenceDataChange}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChanged(Object entity) {
+        eventPublisher.publishEvent(new ReferenceDataChange(entity.getClass()));
+    }
+}
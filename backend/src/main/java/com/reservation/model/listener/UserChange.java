@@ -0,0 +1,28 @@
+package com.reservation.model.listener;
+
+import com.reservation.model.entity.User;
+import com.reservation.model.enums.Role;
+import lombok.Value;
+
+/**
+ * Persisted {@link User} change, published as a Spring application event by
+ * {@link UserChangeListener} so caches derived from users can be invalidated.
+ */
+@Value
+public class UserChange {
+
+    public enum Kind {
+        CREATED, UPDATED, DELETED
+    }
+
+    Kind kind;
+    Long userId;
+    String email;
+    Role role;
+    // Email before this change (null for new users); differs when the address changed
+    String previousEmail;
+
+    public static UserChange of(Kind kind, User user) {
+        return new UserChange(kind, user.getId(), user.getEmail(), user.getRole(), user.getPersistedEmail());
+    }
+}
@@ -0,0 +1,43 @@
+package com.reservation.model.listener;
+
+import com.reservation.model.entity.User;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns every insert, update and delete of a {@link User} into a
+ * {@link UserChange}, the same way {@link EventChangeListener} does for events.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostLoad
+    public void onLoaded(User user) {
+        user.setPersistedEmail(user.getEmail());
+    }
+
+    @PostPersist
+    public void onCreated(User user) {
+        eventPublisher.publishEvent(UserChange.of(UserChange.Kind.CREATED, user));
+        user.setPersistedEmail(user.getEmail());
+    }
+
+    @PostUpdate
+    public void onUpdated(User user) {
+        eventPublisher.publishEvent(UserChange.of(UserChange.Kind.UPDATED, user));
+        user.setPersistedEmail(user.getEmail());
+    }
+
+    @PostRemove
+    public void onDeleted(User user) {
+        eventPublisher.publishEvent(UserChange.of(UserChange.Kind.DELETED, user));
+    }
+}
@@ -0,0 +1,19 @@
+package com.reservation.repository;
+
+import com.reservation.model.entity.CalendarOutboxEntry;
+import com.reservation.model.enums.CalendarOutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface CalendarOutboxRepository extends JpaRepository<CalendarOutboxEntry, Long> {
+    
+    long countByStatus(CalendarOutboxStatus status);
+    
+    @Query("SELECT MIN(o.createdAt) FROM CalendarOutboxEntry o WHERE o.status = :status")
+    LocalDateTime findOldestCreatedAt(@Param("status") CalendarOutboxStatus status);
+}
@@ -0,0 +1,9 @@
+package com.reservation.repository;
+
+import com.reservation.model.entity.CalendarSyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CalendarSyncStateRepository extends JpaRepository<CalendarSyncState, String> {
+}
@@ -5,16 +5,20 @@ import com.reservation.model.entity.Room;
 import com.reservation.model.entity.User;
 import com.reservation.model.enums.EventStatus;
 import com.reservation.model.enums.EventType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
@@ -64,9 +68,26 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     @Query("SELECT e FROM Event e LEFT JOIN FETCH e.room r LEFT JOIN FETCH e.course c")
     List<Event> findAllForAnalytics();
     
+    // Flat projection for the columnar analytics store: no entity graph, no lazy proxies.
+    // Columns: id, date, startTime, endTime, roomId, teacherId, courseId, type, status
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT e.id, e.date, e.startTime, e.endTime, r.id, e.teacher.id, c.id, e.type, e.status " +
+           "FROM Event e LEFT JOIN e.room r LEFT JOIN e.course c")
+    Stream<Object[]> streamEventColumns();
+    
     // Google Calendar Integration
     Optional<Event> findByGoogleEventId(String googleEventId);
     
+    // Everything the calendar sync renders (title, room, course, teacher) in one query
+    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.room LEFT JOIN FETCH e.course LEFT JOIN FETCH e.teacher " +
+           "WHERE e.date BETWEEN :startDate AND :endDate")
+    List<Event> findForCalendarSync(@Param("startDate") LocalDate startDate,
+                                    @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT DISTINCT e FROM Event e LEFT JOIN FETCH e.room LEFT JOIN FETCH e.course LEFT JOIN FETCH e.teacher " +
+           "WHERE e.id IN :ids")
+    List<Event> findForCalendarSyncByIds(@Param("ids") Collection<Long> ids);
+    
     @Query("SELECT e FROM Event e WHERE e.startTime BETWEEN :startTime AND :endTime")
     List<Event> findByStartTimeBetween(@Param("startTime") LocalDateTime startTime, 
                                       @Param("endTime") LocalDateTime endTime);
@@ -77,6 +98,13 @@ public interface EventRepository extends JpaRepository<Event, Long> {
                                                    @Param("startDate") LocalDate startDate, 
                                                    @Param("endDate") LocalDate endDate);
     
+    // Teacher timetable with everything the week view renders, in one query
+    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.room LEFT JOIN FETCH e.course JOIN FETCH e.teacher t " +
+           "WHERE t.email = :email AND e.date BETWEEN :startDate AND :endDate")
+    List<Event> findTeacherWeekView(@Param("email") String email,
+                                    @Param("startDate") LocalDate startDate,
+                                    @Param("endDate") LocalDate endDate);
+    
     // For now, students will see all events (we can refine this later when we have proper enrollment tables)
     @Query("SELECT e FROM Event e LEFT JOIN FETCH e.course c LEFT JOIN FETCH e.teacher t WHERE e.date BETWEEN :startDate AND :endDate")
     List<Event> findByStudentEmailAndDateBetween(@Param("startDate") LocalDate startDate, 
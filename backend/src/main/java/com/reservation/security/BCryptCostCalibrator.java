@@ -0,0 +1,39 @@
+package com.reservation.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Picks the BCrypt cost for this machine: the highest cost whose hash still takes no more
+ * than the target time, within sane bounds. Each cost step doubles the work, so one timing
+ * at the baseline cost is enough to extrapolate.
+ */
+@Slf4j
+public final class BCryptCostCalibrator {
+
+    private static final int BASELINE_COST = 10;
+    private static final int MAX_COST = 14;
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(long targetMs) {
+        String salt = BCrypt.gensalt(BASELINE_COST);
+        BCrypt.hashpw("calibration", salt);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double baselineMs = Math.max(0.1, best / 1_000_000.0);
+
+        int cost = BASELINE_COST;
+        while (cost < MAX_COST && baselineMs * (1L << (cost + 1 - BASELINE_COST)) <= targetMs) {
+            cost++;
+        }
+        log.info("🔐 BCrypt cost {} selected (cost {} takes {}ms here, target {}ms)",
+                cost, BASELINE_COST, Math.round(baselineMs), targetMs);
+        return cost;
+    }
+}
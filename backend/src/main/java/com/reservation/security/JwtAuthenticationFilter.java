@@ -1,26 +1,33 @@
 package com.reservation.security;
 
 import com.reservation.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
-// @Component  // Temporarily disabled for testing
+@Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final UserVersionCache userVersionCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -36,12 +43,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        userEmail = jwtUtil.extractUsername(jwt);
+        // Parsed (and its signature verified) exactly once per request
+        final Claims claims;
+        try {
+            claims = jwtUtil.parseToken(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        userEmail = claims.getSubject();
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            UserDetails userDetails = resolveUser(claims);
             
-            if (jwtUtil.validateToken(jwt, userDetails.getUsername())) {
+            if (userDetails != null && jwtUtil.isTokenValid(claims, userDetails.getUsername())) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -54,4 +69,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Build the principal from the token's role claim, checking only the cached user
+     * version; tokens issued before role claims existed still load the user.
+     */
+    private UserDetails resolveUser(Claims claims) {
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        if (role == null) {
+            try {
+                return userDetailsService.loadUserByUsername(claims.getSubject());
+            } catch (UsernameNotFoundException e) {
+                return null;
+            }
+        }
+        if (!userVersionCache.isCurrent(claims.getSubject(), claims.get(JwtUtil.CLAIM_USER_VERSION, String.class))) {
+            return null;
+        }
+        return org.springframework.security.core.userdetails.User.builder()
+                .username(claims.getSubject())
+                .password("")
+                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)))
+                .build();
+    }
 }
@@ -0,0 +1,83 @@
+package com.reservation.security;
+
+import com.reservation.model.listener.UserChange;
+import com.reservation.repository.UserRepository;
+import com.reservation.util.JwtUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of each user's current token version, used to reject tokens issued
+ * before a role or password change (or for a deleted user) without loading the user on
+ * every request. Entries are dropped as soon as a user changes and re-read after the TTL;
+ * in the steady state a request is authenticated without touching the database. With
+ * {@code app.security.jwt.revocation-check=false} tokens are trusted until they expire.
+ */
+@Slf4j
+@Component
+public class UserVersionCache {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public UserVersionCache(UserRepository userRepository,
+                            @Value("${app.security.jwt.revocation-check:true}") boolean enabled,
+                            @Value("${app.security.jwt.revocation-cache-ttl-ms:60000}") long ttlMs,
+                            @Value("${app.security.jwt.revocation-cache-max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Whether a token with this user version is still current for the user.
+     */
+    public boolean isCurrent(String email, String tokenVersion) {
+        if (!enabled) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(email);
+        if (entry == null || now - entry.loadedAt >= ttlMs) {
+            String version = userRepository.findByEmail(email).map(JwtUtil::userVersion).orElse(null);
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+            entry = new Entry(version, now);
+            entries.put(email, entry);
+        }
+        return entry.version != null && entry.version.equals(tokenVersion);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChange(UserChange change) {
+        if (change.getEmail() != null) {
+            entries.remove(change.getEmail());
+        }
+        // After an email change the old address must not keep validating tokens
+        if (change.getPreviousEmail() != null) {
+            entries.remove(change.getPreviousEmail());
+        }
+    }
+
+    private static final class Entry {
+        // null when the user no longer exists
+        private final String version;
+        private final long loadedAt;
+
+        private Entry(String version, long loadedAt) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.reservation.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reservation.service.LlmHttpClient.LlmSaturatedException;
 import com.reservation.repository.EventRepository;
 import com.reservation.repository.RoomRepository;
 import com.reservation.repository.CourseRepository;
@@ -7,13 +10,15 @@ import com.reservation.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
@@ -24,7 +29,12 @@ public class AIChatbotService {
     private final RoomRepository roomRepository;
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
-    private final SchedulingAnalyticsService analyticsService;
+    private final ChatbotContextProvider contextProvider;
+    private final ObjectMapper objectMapper;
+    private final LlmHttpClient llmClient;
+    private final ChatbotResponseCache responseCache;
+    private final ChatbotIntentRouter intentRouter;
+    private final ChatbotPromptBuilder promptBuilder;
     
     @Value("${ai.service.type:ollama}")
     private String aiServiceType;
@@ -35,17 +45,31 @@ public class AIChatbotService {
     @Value("${ai.model:llama3.2}")
     private String aiModel;
     
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Value("${ai.ollama.keep-alive:10m}")
+    private String ollamaKeepAlive;
     
     public String processUserMessage(String userMessage) {
         try {
             log.info("🤖 Processing user message: {}", userMessage);
             
-            // Get current system context (real-time data)
-            String systemContext = buildSystemContext();
+            // Structured data questions are answered without the LLM
+            Optional<String> routed = intentRouter.route(userMessage);
+            if (routed.isPresent()) {
+                return routed.get();
+            }
+            
+            Optional<String> cachedReply = responseCache.get(userMessage);
+            if (cachedReply.isPresent()) {
+                log.info("🤖 Answered from response cache");
+                return cachedReply.get();
+            }
+            String dataVersion = responseCache.currentDataVersion();
+            
+            // Pre-rendered system summary plus the facts retrieved for this question
+            String systemContext = contextProvider.getContextFor(userMessage);
             
             // Create AI prompt with context
-            String aiPrompt = buildAIPrompt(userMessage, systemContext);
+            String aiPrompt = promptBuilder.build(userMessage, systemContext);
             
             // Call local AI service based on configuration
             String aiResponse;
@@ -64,131 +88,169 @@ public class AIChatbotService {
             }
             
             log.info("🤖 AI Response generated successfully");
+            if (generatesReplies()) {
+                responseCache.put(userMessage, dataVersion, aiResponse);
+            }
             return aiResponse;
             
+        } catch (LlmSaturatedException e) {
+            log.warn("⚠️ {} - answering from fallback", e.getMessage());
+            return generateFallbackResponse(userMessage);
         } catch (Exception e) {
             log.error("❌ Error processing chatbot message: {}", e.getMessage(), e);
             return generateFallbackResponse(userMessage);
         }
     }
     
-    private String buildSystemContext() {
+    /**
+     * Generate a reply, handing each token to {@code onToken} as soon as the model produces
+     * it. Non-streaming providers deliver their full reply as one token. If generation fails
+     * (or the LLM client is saturated) before any token was sent, the rule-based fallback
+     * reply is sent instead. Routed and cached replies are sent as a single token.
+     * If {@code onToken} throws {@link ClientDisconnectedException}, generation stops and the
+     * returned future fails with it; nothing is cached and no fallback is sent.
+     */
+    public CompletableFuture<Void> streamUserMessage(String userMessage, Consumer<String> onToken) {
+        AtomicBoolean anyToken = new AtomicBoolean();
+        StringBuffer reply = new StringBuffer();
+        Consumer<String> tracking = token -> {
+            anyToken.set(true);
+            reply.append(token);
+            onToken.accept(token);
+        };
+        String dataVersion = responseCache.currentDataVersion();
+        
+        CompletableFuture<Void> generation;
         try {
-            // Get real-time data from YOUR specific reservation system
-            long totalEvents = eventRepository.count();
-            long totalRooms = roomRepository.count();
-            long totalCourses = courseRepository.count();
-            long totalUsers = userRepository.count();
-            
-            // Get today's analytics from YOUR system
-            Map<String, Object> todayAnalytics = analyticsService.getComprehensiveAnalytics("today");
-            
-            StringBuilder context = new StringBuilder();
-            context.append("==== YOUR UNIVERSITY ROOM RESERVATION SYSTEM ====\n");
-            context.append("Project: Academic Room Scheduling & Management Platform\n");
-            context.append("Date: ").append(LocalDate.now().format(DateTimeFormatter.ISO_DATE)).append("\n\n");
-            
-            context.append("CURRENT SYSTEM STATUS:\n");
-            context.append("📚 Total Scheduled Events: ").append(totalEvents).append(" events\n");
-            context.append("🏢 Available Rooms: ").append(totalRooms).append(" rooms\n");
-            context.append("📖 Active Courses: ").append(totalCourses).append(" courses\n");
-            context.append("👥 Registered Users: ").append(totalUsers).append(" users (teachers/admins)\n\n");
-            
-            context.append("TODAY'S ANALYTICS:\n");
-            if (todayAnalytics != null) {
-                context.append("📊 Real-time data: ").append(todayAnalytics).append("\n");
-            } else {
-                context.append("📊 No events scheduled for today\n");
+            log.info("🤖 Streaming reply for user message: {}", userMessage);
+            Optional<String> routed = intentRouter.route(userMessage);
+            if (routed.isPresent()) {
+                onToken.accept(routed.get());
+                return CompletableFuture.completedFuture(null);
             }
-            
-            context.append("\nSYSTEM CAPABILITIES:\n");
-            context.append("✅ Room booking and scheduling\n");
-            context.append("✅ Course-room assignments\n");
-            context.append("✅ Conflict detection and resolution\n");
-            context.append("✅ Usage analytics and reporting\n");
-            context.append("✅ User management for teachers/admins\n");
-            context.append("✅ Real-time availability checking\n\n");
-            
-            context.append("IMPORTANT: This is a live academic reservation system with real data.\n");
-            context.append("All numbers and statistics are current and accurate.\n");
-            
-            return context.toString();
-        } catch (Exception e) {
-            log.error("Error building system context", e);
-            return "Your university reservation system data is temporarily unavailable.";
+            Optional<String> cachedReply = responseCache.get(userMessage);
+            if (cachedReply.isPresent()) {
+                log.info("🤖 Answered from response cache");
+                onToken.accept(cachedReply.get());
+                return CompletableFuture.completedFuture(null);
+            }
+            String aiPrompt = promptBuilder.build(userMessage, contextProvider.getContextFor(userMessage));
+            switch (aiServiceType.toLowerCase()) {
+                case "huggingface":
+                    generation = CompletableFuture.completedFuture(callHuggingFaceLocal(aiPrompt)).thenAccept(tracking);
+                    break;
+                case "openai":
+                    generation = callOpenAIAsync(aiPrompt).thenAccept(tracking);
+                    break;
+                default:
+                    generation = streamOllamaAPI(aiPrompt, tracking);
+            }
+        } catch (RuntimeException e) {
+            generation = CompletableFuture.failedFuture(e);
         }
-    }
-    
-    private String buildAIPrompt(String userMessage, String systemContext) {
-        return String.format("""
-            You are the AI assistant for THIS SPECIFIC university room reservation system.
-            You have access to LIVE DATA from this academic scheduling platform.
-            
-            SYSTEM YOU'RE MANAGING:
-            %s
-            
-            CRITICAL INSTRUCTIONS:
-            - Answer questions about THIS SPECIFIC reservation system (not general information)
-            - Use the EXACT NUMBERS from the system data provided above
-            - Reference the specific rooms, courses, and events in THIS system
-            - When asked "How many rooms?", use the exact count from "Available Rooms"
-            - When asked about bookings, use the exact "Total Scheduled Events" number
-            - When asked about courses, use the exact "Active Courses" count
-            - When asked about users, use the exact "Registered Users" number
-            - Be specific: "In YOUR system, you have X rooms..." not "Generally, systems have..."
-            - Provide actionable insights based on THIS system's actual data
-            - If data shows 0, explain that this might be a new system or no data is loaded yet
-            
-            RESPONSE STYLE:
-            - Professional and academic tone
-            - Specific to this university reservation system
-            - Include exact numbers from the data above
-            - Suggest relevant actions for THIS system
-            
-            USER QUESTION: %s
-            
-            Provide a precise, data-driven response about THIS SPECIFIC system:
-            """, systemContext, userMessage);
+        
+        return generation.handle((ignored, error) -> {
+            if (error == null) {
+                if (generatesReplies()) {
+                    responseCache.put(userMessage, dataVersion, reply.toString());
+                }
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof ClientDisconnectedException) {
+                    throw (ClientDisconnectedException) cause;
+                }
+                if (cause instanceof LlmSaturatedException) {
+                    log.warn("⚠️ {} - streaming fallback reply", cause.getMessage());
+                } else {
+                    log.error("❌ Error streaming chatbot reply: {}", cause.getMessage(), cause);
+                }
+                if (!anyToken.get()) {
+                    onToken.accept(generateFallbackResponse(userMessage));
+                }
+            }
+            return null;
+        });
     }
     
     private String callOllamaAPI(String prompt) {
         try {
             String url = ollamaApiUrl + "/api/generate";
             
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", aiModel);
-            requestBody.put("prompt", prompt);
-            requestBody.put("stream", false);
-            requestBody.put("options", Map.of(
-                "temperature", 0.7,
-                "top_p", 0.9,
-                "max_tokens", 500
-            ));
-            
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            
             log.info("🤖 Calling Ollama API at: {}", url);
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                url, HttpMethod.POST, request, 
-                new org.springframework.core.ParameterizedTypeReference<Map<String, Object>>() {}
-            );
+            JsonNode responseBody = llmClient.postJson(url, ollamaRequestBody(prompt, false), Map.of());
             
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> responseBody = response.getBody();
-                if (responseBody != null && responseBody.containsKey("response")) {
-                    String aiResponse = (String) responseBody.get("response");
-                    return aiResponse.trim();
-                }
+            if (responseBody.hasNonNull("response")) {
+                return responseBody.get("response").asText().trim();
             }
+            throw new IllegalStateException("Ollama returned no response: " + responseBody);
             
-            return "I couldn't generate a response right now. Please make sure Ollama is running.";
-            
-        } catch (Exception e) {
+        } catch (LlmSaturatedException e) {
+            throw e;
+        } catch (RuntimeException e) {
             log.error("Error calling Ollama API", e);
-            return "🔌 Ollama AI is not available. Please install and run Ollama, or I can help you set it up!";
+            throw e;
+        }
+    }
+    
+    /**
+     * Call Ollama with {@code "stream": true} and relay each NDJSON chunk's token.
+     */
+    private CompletableFuture<Void> streamOllamaAPI(String prompt, Consumer<String> onToken) {
+        String url = ollamaApiUrl + "/api/generate";
+        
+        log.info("🤖 Streaming from Ollama API at: {}", url);
+        return llmClient.streamLines(url, ollamaRequestBody(prompt, true), line -> {
+            if (line.isBlank()) {
+                return true;
+            }
+            JsonNode chunk = readJson(line);
+            if (chunk.hasNonNull("error")) {
+                throw new IllegalStateException("Ollama error: " + chunk.get("error").asText());
+            }
+            String token = chunk.path("response").asText("");
+            if (!token.isEmpty()) {
+                onToken.accept(token);
+            }
+            return !chunk.path("done").asBoolean(false);
+        });
+    }
+    
+    private JsonNode readJson(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private Map<String, Object> ollamaRequestBody(String prompt, boolean stream) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", aiModel);
+        requestBody.put("prompt", prompt);
+        requestBody.put("stream", stream);
+        // Keep the model loaded between requests so calls don't pay the load time again
+        requestBody.put("keep_alive", ollamaKeepAlive);
+        requestBody.put("options", Map.of(
+            "temperature", 0.7,
+            "top_p", 0.9,
+            "num_predict", promptBuilder.getNumPredict(),
+            "num_ctx", promptBuilder.getNumCtx()
+        ));
+        return requestBody;
+    }
+    
+    /**
+     * Whether the configured provider produces real model output worth caching; the local
+     * Hugging Face placeholder and an unconfigured OpenAI key only return fixed notices.
+     */
+    private boolean generatesReplies() {
+        switch (aiServiceType.toLowerCase()) {
+            case "huggingface":
+                return false;
+            case "openai":
+                return openaiApiKey != null && !openaiApiKey.isEmpty();
+            default:
+                return true;
         }
     }
     
@@ -200,6 +262,11 @@ public class AIChatbotService {
     private String generateFallbackResponse(String userMessage) {
         // Intelligent fallback based on keywords and system data
         try {
+            Optional<String> routed = intentRouter.route(userMessage);
+            if (routed.isPresent()) {
+                return routed.get();
+            }
+            
             String lowerMessage = userMessage.toLowerCase();
             
             if (lowerMessage.contains("room") || lowerMessage.contains("how many")) {
@@ -262,60 +329,59 @@ public class AIChatbotService {
     @Value("${openai.api.key:}")
     private String openaiApiKey;
     
+    private static final String OPENAI_URL = "https://api.openai.com/v1/chat/completions";
+    private static final String OPENAI_NOT_CONFIGURED = "⚠️ AI service not configured. Please add your OpenAI API key to application.properties (openai.api.key=your-key)";
+    
     private String callOpenAI(String prompt) {
         if (openaiApiKey == null || openaiApiKey.isEmpty()) {
-            return "⚠️ AI service not configured. Please add your OpenAI API key to application.properties (openai.api.key=your-key)";
+            return OPENAI_NOT_CONFIGURED;
         }
         
         try {
-            String url = "https://api.openai.com/v1/chat/completions";
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(openaiApiKey);
+            JsonNode responseBody = llmClient.postJson(OPENAI_URL, openAIRequestBody(prompt),
+                    Map.of("Authorization", "Bearer " + openaiApiKey));
+            return extractOpenAIContent(responseBody);
             
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("model", "gpt-3.5-turbo");
-            requestBody.put("max_tokens", 500);
-            requestBody.put("temperature", 0.7);
-            
-            List<Map<String, String>> messages = new ArrayList<>();
-            Map<String, String> message = new HashMap<>();
-            message.put("role", "user");
-            message.put("content", prompt);
-            messages.add(message);
-            requestBody.put("messages", messages);
-            
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                url, HttpMethod.POST, request, 
-                new org.springframework.core.ParameterizedTypeReference<Map<String, Object>>() {}
-            );
-            
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> responseBody = response.getBody();
-                if (responseBody != null && responseBody.containsKey("choices")) {
-                    @SuppressWarnings("unchecked")
-                    List<Map<String, Object>> choices = (List<Map<String, Object>>) responseBody.get("choices");
-                    if (choices != null && !choices.isEmpty()) {
-                        Map<String, Object> firstChoice = choices.get(0);
-                        @SuppressWarnings("unchecked")
-                        Map<String, String> messageContent = (Map<String, String>) firstChoice.get("message");
-                        if (messageContent != null) {
-                            return messageContent.get("content").trim();
-                        }
-                    }
-                }
-            }
-            
-            return "I couldn't generate a response right now. Please try again.";
-            
-        } catch (Exception e) {
+        } catch (LlmSaturatedException e) {
+            throw e;
+        } catch (RuntimeException e) {
             log.error("Error calling OpenAI API", e);
-            return "I'm having trouble connecting to the AI service. Please try again later.";
+            throw e;
         }
     }
     
+    private CompletableFuture<String> callOpenAIAsync(String prompt) {
+        if (openaiApiKey == null || openaiApiKey.isEmpty()) {
+            return CompletableFuture.completedFuture(OPENAI_NOT_CONFIGURED);
+        }
+        return llmClient.postJsonAsync(OPENAI_URL, openAIRequestBody(prompt),
+                        Map.of("Authorization", "Bearer " + openaiApiKey))
+                .thenApply(this::extractOpenAIContent);
+    }
+    
+    private Map<String, Object> openAIRequestBody(String prompt) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", "gpt-3.5-turbo");
+        requestBody.put("max_tokens", promptBuilder.getNumPredict());
+        requestBody.put("temperature", 0.7);
+        
+        List<Map<String, String>> messages = new ArrayList<>();
+        Map<String, String> message = new HashMap<>();
+        message.put("role", "user");
+        message.put("content", prompt);
+        messages.add(message);
+        requestBody.put("messages", messages);
+        return requestBody;
+    }
+    
+    private String extractOpenAIContent(JsonNode responseBody) {
+        JsonNode content = responseBody.path("choices").path(0).path("message").path("content");
+        if (content.isTextual()) {
+            return content.asText().trim();
+        }
+        throw new IllegalStateException("OpenAI returned no message content");
+    }
+    
     public List<String> getSuggestedQuestions() {
         return Arrays.asList(
             "How many rooms are booked today?",
@@ -328,4 +394,13 @@ public class AIChatbotService {
             "Which courses need more room time?"
         );
     }
+    
+    /**
+     * Thrown by a token consumer whose client has gone away, to stop the stream.
+     */
+    public static class ClientDisconnectedException extends RuntimeException {
+        public ClientDisconnectedException(Throwable cause) {
+            super("Client disconnected", cause);
+        }
+    }
 }
@@ -7,27 +7,61 @@ import com.reservation.dto.response.LoginResponse;
 import com.reservation.dto.response.UserResponse;
 import com.reservation.model.entity.User;
 import com.reservation.util.JwtUtil;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @Service
-@RequiredArgsConstructor
 public class AuthService {
 
     private final UserService userService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
+    // Runs the upgraded-hash write-back, which must not hold a CPU-bound hashing thread on DB I/O
+    private final Executor writeBackExecutor;
+
+    public AuthService(UserService userService,
+                       PasswordHashingService passwordHashingService,
+                       JwtUtil jwtUtil,
+                       @Qualifier("applicationTaskExecutor") Executor writeBackExecutor) {
+        this.userService = userService;
+        this.passwordHashingService = passwordHashingService;
+        this.jwtUtil = jwtUtil;
+        this.writeBackExecutor = writeBackExecutor;
+    }
 
-    public LoginResponse login(LoginRequest request) {
+    /**
+     * Check the credentials on the password hashing pool, so the request thread is released
+     * while BCrypt runs. A hash made with a lower cost than the current one is re-hashed and
+     * stored before the token is issued; that is not a password change, so the user's other
+     * tokens stay valid. The store runs on the application task executor, not on the hashing
+     * pool.
+     */
+    public CompletableFuture<LoginResponse> login(LoginRequest request) {
         User user = userService.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Invalid credentials"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new RuntimeException("Invalid credentials");
-        }
+        return passwordHashingService.matches(request.getPassword(), user.getPassword())
+                .thenCompose(matches -> {
+                    if (!matches) {
+                        throw new RuntimeException("Invalid credentials");
+                    }
+                    if (!passwordHashingService.needsUpgrade(user.getPassword())) {
+                        return CompletableFuture.completedFuture(user);
+                    }
+                    return passwordHashingService.encode(request.getPassword()).thenApplyAsync(upgraded -> {
+                        userService.updatePasswordHash(user.getId(), upgraded);
+                        user.setPassword(upgraded);
+                        return user;
+                    }, writeBackExecutor);
+                })
+                .thenApply(this::buildLoginResponse);
+    }
 
-        String token = jwtUtil.generateToken(user.getEmail());
+    private LoginResponse buildLoginResponse(User user) {
+        String token = jwtUtil.generateToken(user);
 
         UserResponse userResponse = UserResponse.builder()
                 .id(user.getId())
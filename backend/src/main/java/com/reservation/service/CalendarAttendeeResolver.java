@@ -0,0 +1,121 @@
+package com.reservation.service;
+
+import com.google.api.services.calendar.model.EventAttendee;
+import com.reservation.model.entity.Event;
+import com.reservation.model.entity.User;
+import com.reservation.model.enums.Role;
+import com.reservation.model.listener.UserChange;
+import com.reservation.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Attendee lists for events pushed to Google Calendar. There is no course enrollment yet,
+ * so every event invites its teacher plus the same (capped) list of students; that student
+ * list is built once and shared by every event of a sync instead of being queried per event.
+ * It is dropped whenever a user is created, updated or deleted, and re-read after a TTL as a
+ * backstop for writes that bypass JPA.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CalendarAttendeeResolver {
+
+    // Limit to reasonable number of attendees per event
+    private static final int MAX_ATTENDEES = 50;
+
+    private final UserRepository userRepository;
+
+    @Value("${google.calendar.attendee-cache-ttl-ms:300000}")
+    private long ttlMs;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile StudentList students;
+
+    /**
+     * Teacher (as organizer) followed by students, at most {@link #MAX_ATTENDEES} in total.
+     * The student attendee objects are shared between events and must not be modified.
+     */
+    public List<EventAttendee> attendeesFor(Event adminEvent) {
+        List<EventAttendee> attendees = new ArrayList<>();
+        
+        if (adminEvent.getTeacher() != null && adminEvent.getTeacher().getEmail() != null) {
+            attendees.add(new EventAttendee()
+                .setEmail(adminEvent.getTeacher().getEmail())
+                .setDisplayName(adminEvent.getTeacher().getName())
+                .setOrganizer(true));
+        }
+        
+        for (EventAttendee student : studentAttendees()) {
+            if (attendees.size() >= MAX_ATTENDEES) {
+                break;
+            }
+            attendees.add(student);
+        }
+        return attendees;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChange(UserChange change) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private List<EventAttendee> studentAttendees() {
+        long currentGeneration = generation.get();
+        StudentList current = students;
+        if (current != null && current.generation == currentGeneration
+                && System.currentTimeMillis() - current.loadedAt < ttlMs) {
+            return current.attendees;
+        }
+        
+        List<EventAttendee> attendees = new ArrayList<>();
+        try {
+            for (User student : userRepository.findByRole(Role.STUDENT)) {
+                if (student.getEmail() != null && !student.getEmail().isEmpty()) {
+                    attendees.add(new EventAttendee()
+                        .setEmail(student.getEmail())
+                        .setDisplayName(student.getName())
+                        .setOptional(false));
+                    if (attendees.size() >= MAX_ATTENDEES) {
+                        break;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("⚠️  Could not fetch students for event attendees: {}", e.getMessage());
+            return List.of();
+        }
+        
+        List<EventAttendee> loaded = Collections.unmodifiableList(attendees);
+        // Stamped with the generation seen before the load, so a user change during the load
+        // makes it stale right away
+        students = new StudentList(loaded, currentGeneration, System.currentTimeMillis());
+        log.debug("📅 Loaded {} student attendees", loaded.size());
+        return loaded;
+    }
+
+    private static final class StudentList {
+        private final List<EventAttendee> attendees;
+        private final long generation;
+        private final long loadedAt;
+
+        private StudentList(List<EventAttendee> attendees, long generation, long loadedAt) {
+            this.attendees = attendees;
+            this.generation = generation;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
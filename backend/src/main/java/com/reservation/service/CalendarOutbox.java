@@ -0,0 +1,136 @@
+package com.reservation.service;
+
+import com.reservation.config.GoogleCalendarConfig;
+import com.reservation.model.entity.CalendarOutboxEntry;
+import com.reservation.model.enums.CalendarOutboxOperation;
+import com.reservation.model.enums.CalendarOutboxStatus;
+import com.reservation.model.listener.EventChange;
+import com.reservation.repository.CalendarOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox for Google Calendar propagation. Every event change is recorded in
+ * {@code calendar_outbox} by the same transaction that made it, so a committed change is
+ * never lost and a rolled-back one is never pushed; {@link CalendarOutboxWorker} drains the
+ * table in the background, so bookings never wait on the Google API.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CalendarOutbox {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GoogleCalendarConfig calendarConfig;
+    private final CalendarOutboxRepository outboxRepository;
+
+    /**
+     * Runs synchronously while Hibernate writes the event. The JDBC insert joins the
+     * transaction's connection, so the outbox row commits or rolls back with the change.
+     * Unsynced events outside the sync window are left to the full sync.
+     */
+    @EventListener
+    public void onEventChange(EventChange change) {
+        if (!calendarConfig.isGoogleCalendarEnabled()) {
+            return;
+        }
+        boolean synced = change.getGoogleEventId() != null && !change.getGoogleEventId().isEmpty();
+        if (change.getKind() == EventChange.Kind.DELETED) {
+            if (synced) {
+                insert(change.getEventId(), change.getGoogleEventId(), CalendarOutboxOperation.DELETE);
+            }
+        } else if (synced || GoogleCalendarService.isInSyncWindow(change.getDate())) {
+            insert(change.getEventId(), null, CalendarOutboxOperation.UPSERT);
+        }
+    }
+
+    private void insert(Long eventId, String googleEventId, CalendarOutboxOperation operation) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(
+            "INSERT INTO calendar_outbox (event_id, google_event_id, operation, status, attempts, next_attempt_at, created_at) " +
+            "VALUES (?, ?, ?, ?, 0, ?, ?)",
+            eventId, googleEventId, operation.name(), CalendarOutboxStatus.PENDING.name(), now, now);
+    }
+
+    /**
+     * Claim up to {@code limit} due entries of one partition (event id modulo
+     * {@code partitions}), oldest first, and lease them for {@code lease}. Partitioning keeps
+     * all changes of one event on one worker, in order; SKIP LOCKED and the lease keep
+     * concurrent claimers (other workers or instances) off the same rows. The attempt
+     * counter is incremented on claim, so a worker that dies mid-push still counts.
+     */
+    public List<CalendarOutboxEntry> claim(int partition, int partitions, int limit, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.query(
+            "UPDATE calendar_outbox SET claimed_until = ?, attempts = attempts + 1 WHERE id IN (" +
+            "SELECT id FROM calendar_outbox WHERE status = ? AND next_attempt_at <= ? " +
+            "AND (claimed_until IS NULL OR claimed_until < ?) AND MOD(event_id, ?) = ? " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, event_id, google_event_id, operation, attempts",
+            (rs, rowNum) -> CalendarOutboxEntry.builder()
+                .id(rs.getLong("id"))
+                .eventId(rs.getLong("event_id"))
+                .googleEventId(rs.getString("google_event_id"))
+                .operation(CalendarOutboxOperation.valueOf(rs.getString("operation")))
+                .attempts(rs.getInt("attempts"))
+                .build(),
+            Timestamp.valueOf(now.plus(lease)), CalendarOutboxStatus.PENDING.name(), Timestamp.valueOf(now),
+            Timestamp.valueOf(now), partitions, partition, limit)
+            .stream()
+            .sorted(Comparator.comparing(CalendarOutboxEntry::getId))
+            .collect(Collectors.toList());
+    }
+
+    public void complete(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            jdbcTemplate.batchUpdate("DELETE FROM calendar_outbox WHERE id = ?",
+                ids.stream().map(id -> new Object[]{id}).collect(Collectors.toList()));
+        }
+    }
+
+    public void retryAt(Long id, LocalDateTime nextAttemptAt, String error) {
+        jdbcTemplate.update(
+            "UPDATE calendar_outbox SET next_attempt_at = ?, claimed_until = NULL, last_error = ? WHERE id = ?",
+            Timestamp.valueOf(nextAttemptAt), truncate(error), id);
+    }
+
+    public void markDead(Long id, String error) {
+        jdbcTemplate.update(
+            "UPDATE calendar_outbox SET status = ?, claimed_until = NULL, last_error = ? WHERE id = ?",
+            CalendarOutboxStatus.DEAD.name(), truncate(error), id);
+    }
+
+    /**
+     * Put every dead entry back in the queue with a fresh attempt budget.
+     */
+    public int requeueDead() {
+        return jdbcTemplate.update(
+            "UPDATE calendar_outbox SET status = ?, attempts = 0, next_attempt_at = ?, claimed_until = NULL WHERE status = ?",
+            CalendarOutboxStatus.PENDING.name(), Timestamp.valueOf(LocalDateTime.now()), CalendarOutboxStatus.DEAD.name());
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", outboxRepository.countByStatus(CalendarOutboxStatus.PENDING));
+        stats.put("dead", outboxRepository.countByStatus(CalendarOutboxStatus.DEAD));
+        LocalDateTime oldest = outboxRepository.findOldestCreatedAt(CalendarOutboxStatus.PENDING);
+        stats.put("oldestPendingAgeSeconds", oldest != null ? Duration.between(oldest, LocalDateTime.now()).getSeconds() : 0);
+        return stats;
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+}
@@ -0,0 +1,193 @@
+package com.reservation.service;
+
+import com.reservation.config.ThreadFactories;
+import com.reservation.model.entity.CalendarOutboxEntry;
+import com.reservation.model.enums.CalendarOutboxOperation;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background worker pool draining the {@link CalendarOutbox} to Google Calendar. Each
+ * worker owns one partition of the outbox (by event id), claims due entries in batches and
+ * pushes them through {@link GoogleCalendarService#pushChanges}. Failed entries are retried
+ * with exponential backoff and jitter; after the maximum number of attempts they are
+ * marked dead and left for inspection.
+ */
+@Slf4j
+@Service
+public class CalendarOutboxWorker {
+
+    private final CalendarOutbox outbox;
+    private final GoogleCalendarService googleCalendarService;
+    private final String calendarId;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final Duration lease;
+    private final ExecutorService pool;
+    private final AtomicBoolean[] running;
+
+    private final AtomicLong pushed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+
+    public CalendarOutboxWorker(CalendarOutbox outbox,
+                                GoogleCalendarService googleCalendarService,
+                                @Value("${google.calendar.calendar-id:primary}") String calendarId,
+                                @Value("${google.calendar.outbox.workers:2}") int workers,
+                                @Value("${google.calendar.outbox.batch-size:50}") int batchSize,
+                                @Value("${google.calendar.outbox.max-attempts:10}") int maxAttempts,
+                                @Value("${google.calendar.outbox.base-backoff-ms:5000}") long baseBackoffMs,
+                                @Value("${google.calendar.outbox.max-backoff-ms:900000}") long maxBackoffMs,
+                                @Value("${google.calendar.outbox.lease-ms:120000}") long leaseMs,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.outbox = outbox;
+        this.googleCalendarService = googleCalendarService;
+        this.calendarId = calendarId;
+        this.workers = Math.max(1, workers);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.running = new AtomicBoolean[this.workers];
+        for (int i = 0; i < this.workers; i++) {
+            running[i] = new AtomicBoolean();
+        }
+
+        this.pool = Executors.newFixedThreadPool(this.workers, ThreadFactories.io("calendar-outbox", virtualThreads));
+    }
+
+    /**
+     * Start a drain for every partition that is not already being drained.
+     */
+    @Scheduled(fixedDelayString = "${google.calendar.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        if (!googleCalendarService.isAvailable()) {
+            return;
+        }
+        for (int partition = 0; partition < workers; partition++) {
+            if (running[partition].compareAndSet(false, true)) {
+                int owned = partition;
+                pool.execute(() -> {
+                    try {
+                        drain(owned);
+                    } finally {
+                        running[owned].set(false);
+                    }
+                });
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(outbox.getStats());
+        stats.put("workers", workers);
+        stats.put("pushed", pushed.get());
+        stats.put("retried", retried.get());
+        stats.put("deadLettered", dead.get());
+        return stats;
+    }
+
+    private void drain(int partition) {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<CalendarOutboxEntry> batch;
+            try {
+                batch = outbox.claim(partition, workers, batchSize, lease);
+            } catch (Exception e) {
+                log.error("❌ Could not claim calendar outbox entries: {}", e.getMessage());
+                return;
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            process(batch);
+        }
+    }
+
+    private void process(List<CalendarOutboxEntry> batch) {
+        Set<Long> upserts = new LinkedHashSet<>();
+        Set<String> deletions = new LinkedHashSet<>();
+        for (CalendarOutboxEntry entry : batch) {
+            if (entry.getOperation() == CalendarOutboxOperation.DELETE) {
+                deletions.add(entry.getGoogleEventId());
+                // Deleted later in the same batch: nothing left to upsert
+                upserts.remove(entry.getEventId());
+            } else {
+                upserts.add(entry.getEventId());
+            }
+        }
+
+        GoogleCalendarService.PushResult result;
+        try {
+            result = googleCalendarService.pushChanges(calendarId, upserts, deletions);
+        } catch (Exception e) {
+            log.warn("⚠️  Calendar outbox push of {} entries failed: {}", batch.size(), e.getMessage());
+            batch.forEach(entry -> fail(entry, e.getMessage()));
+            return;
+        }
+
+        List<Long> done = new ArrayList<>();
+        for (CalendarOutboxEntry entry : batch) {
+            String error = entry.getOperation() == CalendarOutboxOperation.DELETE
+                ? result.getFailedDeletions().get(entry.getGoogleEventId())
+                : result.getFailedEvents().get(entry.getEventId());
+            if (error == null) {
+                done.add(entry.getId());
+            } else {
+                fail(entry, error);
+            }
+        }
+        outbox.complete(done);
+        pushed.addAndGet(done.size());
+        log.debug("📅 Calendar outbox: {} entries pushed ({} created, {} updated, {} unchanged, {} deleted)",
+            done.size(), result.getCreated(), result.getUpdated(), result.getUnchanged(), result.getDeleted());
+    }
+
+    private void fail(CalendarOutboxEntry entry, String error) {
+        try {
+            if (entry.getAttempts() >= maxAttempts) {
+                log.error("❌ Calendar outbox entry {} ({} event {}) failed {} times, giving up: {}",
+                    entry.getId(), entry.getOperation(), entry.getEventId(), entry.getAttempts(), error);
+                outbox.markDead(entry.getId(), error);
+                dead.incrementAndGet();
+            } else {
+                outbox.retryAt(entry.getId(), LocalDateTime.now().plus(backoff(entry.getAttempts())), error);
+                retried.incrementAndGet();
+            }
+        } catch (Exception e) {
+            // The lease runs out and the entry is claimed again
+            log.error("❌ Could not reschedule calendar outbox entry {}: {}", entry.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Exponential backoff from the base delay, capped, with +/-20% jitter so entries that
+     * failed together do not all retry at the same instant.
+     */
+    private Duration backoff(int attempts) {
+        long delay = baseBackoffMs << Math.min(Math.max(attempts - 1, 0), 20);
+        delay = Math.min(delay, maxBackoffMs);
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Duration.ofMillis((long) (delay * jitter));
+    }
+}
@@ -0,0 +1,113 @@
+package com.reservation.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets, one per calendar, that keep calls to the Google Calendar API under the
+ * per-user quota. Google counts every call inside a batch request against the quota, so
+ * callers acquire one permit per queued call. Idle time builds up to one second of burst;
+ * beyond that, callers are spaced out evenly (a large batch pays for its permits by
+ * delaying the next caller).
+ *
+ * The rate adapts to what Google reports: a 403 rate-limit or 429 response halves the
+ * calendar's rate and pauses it with exponential backoff; every clean batch afterwards
+ * raises the rate again in small steps up to the configured maximum.
+ */
+@Component
+public class CalendarRateLimiter {
+
+    private final double maxCallsPerSecond;
+    private final double minCallsPerSecond;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public CalendarRateLimiter(@Value("${google.calendar.max-calls-per-second:10}") double maxCallsPerSecond,
+                               @Value("${google.calendar.throttle.base-backoff-ms:1000}") long baseBackoffMs,
+                               @Value("${google.calendar.throttle.max-backoff-ms:64000}") long maxBackoffMs) {
+        this.maxCallsPerSecond = Math.max(0.1, maxCallsPerSecond);
+        this.minCallsPerSecond = Math.max(0.1, this.maxCallsPerSecond / 16);
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    public void acquire(String calendarId, int permits) throws InterruptedException {
+        bucket(calendarId).acquire(permits);
+    }
+
+    /**
+     * Google rejected calls for exceeding the quota: slow this calendar down and pause it.
+     */
+    public void onThrottled(String calendarId) {
+        bucket(calendarId).throttled();
+    }
+
+    /**
+     * A batch went through without rate-limit errors.
+     */
+    public void onSuccess(String calendarId) {
+        bucket(calendarId).succeeded();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        buckets.forEach((calendarId, bucket) -> stats.put(calendarId, bucket.stats()));
+        return stats;
+    }
+
+    private Bucket bucket(String calendarId) {
+        return buckets.computeIfAbsent(calendarId, id -> new Bucket());
+    }
+
+    private final class Bucket {
+        private double callsPerSecond = maxCallsPerSecond;
+        private long nextFreeNanos = System.nanoTime();
+        private int consecutiveThrottles;
+        private long throttles;
+
+        void acquire(int permits) throws InterruptedException {
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long burstStart = now - TimeUnit.SECONDS.toNanos(1);
+                if (nextFreeNanos < burstStart) {
+                    nextFreeNanos = burstStart;
+                }
+                waitNanos = Math.max(0, nextFreeNanos - now);
+                nextFreeNanos += (long) (permits * TimeUnit.SECONDS.toNanos(1) / callsPerSecond);
+            }
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+
+        synchronized void throttled() {
+            throttles++;
+            consecutiveThrottles++;
+            callsPerSecond = Math.max(minCallsPerSecond, callsPerSecond / 2);
+            long backoffMs = Math.min(maxBackoffMs, baseBackoffMs << Math.min(consecutiveThrottles - 1, 20));
+            backoffMs += ThreadLocalRandom.current().nextLong(Math.max(1, backoffMs / 5));
+            nextFreeNanos = Math.max(nextFreeNanos, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs));
+        }
+
+        synchronized void succeeded() {
+            consecutiveThrottles = 0;
+            callsPerSecond = Math.min(maxCallsPerSecond, callsPerSecond + maxCallsPerSecond / 20);
+        }
+
+        synchronized Map<String, Object> stats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("callsPerSecond", Math.round(callsPerSecond * 100) / 100.0);
+            stats.put("maxCallsPerSecond", maxCallsPerSecond);
+            stats.put("throttledResponses", throttles);
+            return stats;
+        }
+    }
+}
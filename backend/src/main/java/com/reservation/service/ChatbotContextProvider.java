@@ -0,0 +1,209 @@
+package com.reservation.service;
+
+import com.reservation.model.entity.Room;
+import com.reservation.repository.CourseRepository;
+import com.reservation.repository.RoomRepository;
+import com.reservation.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a compact, pre-rendered system context for the chatbot prompt. It is rebuilt in
+ * the background on a short interval, so a chat message never waits on the database;
+ * callers only fall back to an inline rebuild when nothing has been built yet or the
+ * cached copy is far past its TTL.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatbotContextProvider {
+
+    private static final int TOP_N = 5;
+    private static final String UNAVAILABLE = "Your university reservation system data is temporarily unavailable.";
+
+    private final EventColumnStore eventColumnStore;
+    private final RoomRepository roomRepository;
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+    private final ChatbotKnowledgeIndex knowledgeIndex;
+
+    @Value("${ai.context.ttl-ms:30000}")
+    private long ttlMillis;
+
+    @Value("${ai.context.retrieval-token-budget:300}")
+    private int retrievalTokenBudget;
+
+    private volatile CachedContext cached;
+
+    public String getSystemContext() {
+        CachedContext current = cached;
+        if (current == null || System.currentTimeMillis() - current.builtAt > 2 * ttlMillis) {
+            return refresh();
+        }
+        return current.text;
+    }
+
+    /**
+     * The cached system summary plus the indexed facts most relevant to the question.
+     */
+    public String getContextFor(String question) {
+        String summary = getSystemContext();
+        List<String> facts = knowledgeIndex.search(question, retrievalTokenBudget);
+        if (facts.isEmpty()) {
+            return summary;
+        }
+        StringBuilder context = new StringBuilder(summary);
+        context.append("\nRELEVANT FACTS:\n");
+        for (String fact : facts) {
+            context.append("- ").append(fact).append('\n');
+        }
+        return context.toString();
+    }
+
+    /**
+     * Counter that changes whenever the rendered context text changes, so anything derived
+     * from the context (e.g. cached replies) can tell it is stale.
+     */
+    public long getContextVersion() {
+        CachedContext current = cached;
+        return current != null ? current.version : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${ai.context.ttl-ms:30000}")
+    public void refreshInBackground() {
+        refresh();
+    }
+
+    private synchronized String refresh() {
+        try {
+            long start = System.currentTimeMillis();
+            String text = render();
+            CachedContext previous = cached;
+            long version = previous == null ? 1 : previous.text.equals(text) ? previous.version : previous.version + 1;
+            cached = new CachedContext(text, System.currentTimeMillis(), version);
+            log.debug("🤖 Chatbot context refreshed in {}ms ({} chars)", System.currentTimeMillis() - start, text.length());
+            return text;
+        } catch (Exception e) {
+            log.error("Error building system context", e);
+            CachedContext current = cached;
+            return current != null ? current.text : UNAVAILABLE;
+        }
+    }
+
+    private String render() {
+        LocalDate today = LocalDate.now();
+        int todayEpochDay = (int) today.toEpochDay();
+
+        long totalEvents = eventColumnStore.countEvents();
+        long totalRooms = roomRepository.count();
+        long totalCourses = courseRepository.count();
+        long totalUsers = userRepository.count();
+
+        // Today's events only, except the weekday counts, which cover all events
+        long[] startHourCounts = new long[24];
+        long[] dayOfWeekCounts = new long[7];
+        Map<Long, Long> todayRoomCounts = new HashMap<>();
+        long todayEvents = eventColumnStore.read(c -> {
+            long count = 0;
+            int[] epochDay = c.epochDay();
+            short[] startMinute = c.startMinute();
+            int[] roomIdx = c.roomIdx();
+            for (int row = 0; row < c.size(); row++) {
+                if (!c.isLive(row)) {
+                    continue;
+                }
+                // 1970-01-01 (epoch day 0) was a Thursday
+                dayOfWeekCounts[Math.floorMod(epochDay[row] + 3, 7)]++;
+                if (epochDay[row] != todayEpochDay) {
+                    continue;
+                }
+                count++;
+                startHourCounts[startMinute[row] / 60]++;
+                if (roomIdx[row] >= 0) {
+                    todayRoomCounts.merge(c.rooms().idAt(roomIdx[row]), 1L, Long::sum);
+                }
+            }
+            return count;
+        });
+
+        StringBuilder context = new StringBuilder();
+        context.append("==== YOUR UNIVERSITY ROOM RESERVATION SYSTEM ====\n");
+        context.append("Project: Academic Room Scheduling & Management Platform\n");
+        context.append("Date: ").append(today.format(DateTimeFormatter.ISO_DATE)).append("\n\n");
+
+        context.append("CURRENT SYSTEM STATUS:\n");
+        context.append("📚 Total Scheduled Events: ").append(totalEvents).append(" events\n");
+        context.append("🏢 Available Rooms: ").append(totalRooms).append(" rooms\n");
+        context.append("📖 Active Courses: ").append(totalCourses).append(" courses\n");
+        context.append("👥 Registered Users: ").append(totalUsers).append(" users (teachers/admins)\n\n");
+
+        context.append("TODAY'S ANALYTICS:\n");
+        context.append("📅 Events today: ").append(todayEvents).append("\n");
+        context.append("🏆 Busiest rooms today: ").append(renderTopRooms(todayRoomCounts)).append("\n");
+        context.append("⏰ Peak start hours today: ").append(renderTop(startHourCounts, h -> String.format("%02d:00", h))).append("\n\n");
+
+        context.append("OVERALL (all scheduled events):\n");
+        context.append("🏆 Busiest rooms: ").append(renderTopRooms(eventColumnStore.countByRoomId())).append("\n");
+        context.append("🗓️ Busiest weekdays: ").append(renderTop(dayOfWeekCounts, d -> DayOfWeek.of(d + 1).toString())).append("\n");
+
+        context.append("Capabilities: room booking, course-room assignment, conflict detection, ")
+                .append("usage analytics, user management, availability checks.\n");
+
+        return context.toString();
+    }
+
+    private String renderTopRooms(Map<Long, Long> countsByRoomId) {
+        List<Map.Entry<Long, Long>> top = countsByRoomId.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+                .limit(TOP_N)
+                .collect(Collectors.toList());
+        if (top.isEmpty()) {
+            return "none";
+        }
+        Map<Long, String> names = roomRepository.findAllById(top.stream().map(Map.Entry::getKey).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Room::getId, Room::getName));
+        return top.stream()
+                .map(e -> names.getOrDefault(e.getKey(), "Room " + e.getKey()) + " (" + e.getValue() + ")")
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String renderTop(long[] counts, IntFunction<String> label) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                order.add(i);
+            }
+        }
+        if (order.isEmpty()) {
+            return "none";
+        }
+        order.sort((a, b) -> Long.compare(counts[b], counts[a]));
+        return order.stream()
+                .limit(TOP_N)
+                .map(i -> label.apply(i) + " (" + counts[i] + ")")
+                .collect(Collectors.joining(", "));
+    }
+
+    private static final class CachedContext {
+        private final String text;
+        private final long builtAt;
+        private final long version;
+
+        private CachedContext(String text, long builtAt, long version) {
+            this.text = text;
+            this.builtAt = builtAt;
+            this.version = version;
+        }
+    }
+}
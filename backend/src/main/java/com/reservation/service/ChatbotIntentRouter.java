@@ -0,0 +1,517 @@
+package com.reservation.service;
+
+import com.reservation.model.entity.Course;
+import com.reservation.model.entity.Room;
+import com.reservation.model.entity.User;
+import com.reservation.model.enums.EventStatus;
+import com.reservation.model.enums.Role;
+import com.reservation.repository.CourseRepository;
+import com.reservation.repository.RoomRepository;
+import com.reservation.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Deterministic intent engine that runs before the LLM. Structured questions (free rooms
+ * for a day and time window, a teacher's schedule, busiest rooms, peak hours, counts) are
+ * answered directly from the {@link EventColumnStore} and a small cached directory of
+ * room, course and teacher names. Anything it does not recognise is left to the model.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatbotIntentRouter {
+
+    private static final int MAX_LISTED = 15;
+    private static final byte CANCELLED = (byte) EventStatus.CANCELLED.ordinal();
+
+    private static final Pattern ISO_DATE = Pattern.compile("\\b(\\d{4}-\\d{2}-\\d{2})\\b");
+    private static final Pattern TIME_RANGE = Pattern.compile(
+            "\\b(\\d{1,2})(?:[:h](\\d{2}))?\\s*(am|pm)?\\s*(?:-|–|—|to|until|till)\\s*(\\d{1,2})(?:[:h](\\d{2}))?\\s*(am|pm)?\\b");
+    private static final Pattern SINGLE_TIME = Pattern.compile(
+            "\\b(?:at|around)\\s*(\\d{1,2})(?:[:h](\\d{2}))?\\s*(am|pm)?\\b|\\b(\\d{1,2})(?:[:h](\\d{2}))?\\s*(am|pm)\\b");
+    private static final Pattern OPEN_ENDED = Pattern.compile(
+            "\\b(why|explain|suggest|recommend|should|improve|optimi[sz]e|advice|summary|summari[sz]e|report|compare)\\b");
+    private static final Pattern FREE_ROOMS = Pattern.compile(
+            "\\b(free|available|empty|vacant|unused|open)\\b.*\\brooms?\\b|\\brooms?\\b.*\\b(free|available|empty|vacant|unused)\\b");
+    private static final Pattern SCHEDULE = Pattern.compile("\\b(schedule|timetable|agenda|classes|teaching|lessons)\\b");
+    private static final Pattern BUSIEST_ROOM = Pattern.compile(
+            "\\b(busiest|most (?:popular|booked|used)|top)\\b.*\\brooms?\\b|\\brooms?\\b.*\\b(busiest|most (?:popular|booked|used))\\b");
+    private static final Pattern BUSIEST_TEACHER = Pattern.compile(
+            "\\b(busiest|most)\\b.*\\bteachers?\\b|\\bteachers?\\b.*\\b(busiest|most)\\b");
+    private static final Pattern PEAK_HOURS = Pattern.compile(
+            "\\b(peak|busiest|most popular)\\b.*\\b(hours?|times?|slots?)\\b");
+    private static final Pattern HOW_MANY = Pattern.compile("\\b(how many|number of|count of|total)\\b");
+    private static final Pattern ROOMS = Pattern.compile("\\brooms?\\b");
+    private static final Pattern BOOKED = Pattern.compile("\\b(booked|used|occupied|in use)\\b");
+    private static final Pattern EVENTS = Pattern.compile("\\b(events?|bookings?|reservations?|sessions?|classes)\\b");
+    private static final Pattern COURSES = Pattern.compile("\\bcourses?\\b");
+    private static final Pattern TEACHERS = Pattern.compile("\\bteachers?\\b");
+    private static final Pattern USERS = Pattern.compile("\\busers?\\b");
+    private static final Pattern TITLE = Pattern.compile("^(dr|prof|professor|mr|mrs|ms)\\.?\\s+");
+    // Returned for a time the message names but that cannot be read as a window
+    private static final int[] UNREADABLE_WINDOW = new int[0];
+
+    private final EventColumnStore eventColumnStore;
+    private final RoomRepository roomRepository;
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+
+    @Value("${ai.context.ttl-ms:30000}")
+    private long directoryTtlMillis;
+
+    private volatile Directory directory;
+
+    /**
+     * Answer the message without the LLM if it matches a known intent.
+     */
+    public Optional<String> route(String userMessage) {
+        if (userMessage == null || userMessage.isBlank()) {
+            return Optional.empty();
+        }
+        String message = userMessage.toLowerCase(Locale.ROOT).replace('’', '\'');
+        if (OPEN_ENDED.matcher(message).find()) {
+            return Optional.empty();
+        }
+
+        try {
+            long start = System.nanoTime();
+            Optional<String> answer = answer(message);
+            answer.ifPresent(a -> log.info("🧭 Intent answered without LLM in {}µs", (System.nanoTime() - start) / 1000));
+            return answer;
+        } catch (Exception e) {
+            log.warn("Intent routing failed, deferring to the LLM: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<String> answer(String message) {
+        LocalDate today = LocalDate.now();
+        int[] window = parseTimeWindow(message);
+        if (window == UNREADABLE_WINDOW) {
+            return Optional.empty();
+        }
+        LocalDate[] dates = parseDateRange(message, today);
+
+        if (FREE_ROOMS.matcher(message).find()) {
+            LocalDate day = dates != null ? dates[0] : today;
+            return Optional.of(freeRooms(day, window != null ? window : new int[]{0, 24 * 60}, window != null));
+        }
+        if (SCHEDULE.matcher(message).find()) {
+            User teacher = findTeacher(message);
+            if (teacher != null) {
+                LocalDate[] range = dates != null ? dates : weekOf(today);
+                return Optional.of(teacherSchedule(teacher, range[0], range[1]));
+            }
+        }
+        if (BUSIEST_ROOM.matcher(message).find()) {
+            return Optional.of(busiest("room", dates, EventColumnStore.Columns::roomIdx, EventColumnStore.Columns::rooms, directory().roomNames));
+        }
+        if (BUSIEST_TEACHER.matcher(message).find()) {
+            return Optional.of(busiest("teacher", dates, EventColumnStore.Columns::teacherIdx, EventColumnStore.Columns::teachers, directory().teacherNames));
+        }
+        if (PEAK_HOURS.matcher(message).find()) {
+            return Optional.of(peakHours());
+        }
+        if (HOW_MANY.matcher(message).find()) {
+            return count(message, dates);
+        }
+        return Optional.empty();
+    }
+
+    private String freeRooms(LocalDate day, int[] window, boolean explicitWindow) {
+        Directory dir = directory();
+        int epochDay = (int) day.toEpochDay();
+        Set<Long> busy = eventColumnStore.read(c -> {
+            Set<Long> ids = new HashSet<>();
+            for (int row = 0; row < c.size(); row++) {
+                if (c.isLive(row) && c.epochDay()[row] == epochDay && c.status()[row] != CANCELLED
+                        && c.roomIdx()[row] >= 0
+                        && c.startMinute()[row] < window[1] && c.endMinute()[row] > window[0]) {
+                    ids.add(c.rooms().idAt(c.roomIdx()[row]));
+                }
+            }
+            return ids;
+        });
+
+        List<String> free = dir.rooms.stream()
+                .filter(room -> !busy.contains(room.getId()))
+                .map(Room::getName)
+                .collect(Collectors.toList());
+        String when = day + (explicitWindow ? " " + ChatbotText.formatMinute(window[0]) + "–" + ChatbotText.formatMinute(window[1]) : " (all day)");
+        if (free.isEmpty()) {
+            return String.format("🚫 **No free rooms** on %s — all %d rooms are booked then.", when, dir.rooms.size());
+        }
+        return String.format("🏢 **%d of %d rooms are free** on %s: %s", free.size(), dir.rooms.size(), when, limitedList(free));
+    }
+
+    private String teacherSchedule(User teacher, LocalDate from, LocalDate to) {
+        Directory dir = directory();
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        List<long[]> sessions = eventColumnStore.read(c -> {
+            int teacherIdx = c.teachers().find(teacher.getId());
+            List<long[]> rows = new ArrayList<>();
+            if (teacherIdx < 0) {
+                return rows;
+            }
+            for (int row = 0; row < c.size(); row++) {
+                if (c.isLive(row) && c.teacherIdx()[row] == teacherIdx && c.status()[row] != CANCELLED
+                        && c.epochDay()[row] >= fromDay && c.epochDay()[row] <= toDay) {
+                    rows.add(new long[]{
+                            c.epochDay()[row], c.startMinute()[row], c.endMinute()[row],
+                            c.roomIdx()[row] >= 0 ? c.rooms().idAt(c.roomIdx()[row]) : -1,
+                            c.courseIdx()[row] >= 0 ? c.courses().idAt(c.courseIdx()[row]) : -1
+                    });
+                }
+            }
+            return rows;
+        });
+
+        if (sessions.isEmpty()) {
+            return String.format("📅 **%s** has nothing scheduled between %s and %s.", teacher.getName(), from, to);
+        }
+        sessions.sort(Comparator.<long[]>comparingLong(s -> s[0]).thenComparingLong(s -> s[1]));
+
+        StringBuilder reply = new StringBuilder();
+        reply.append(String.format("📅 **%s** — %d session(s) between %s and %s:\n", teacher.getName(), sessions.size(), from, to));
+        for (long[] s : sessions) {
+            LocalDate date = LocalDate.ofEpochDay(s[0]);
+            reply.append("• ").append(date.getDayOfWeek().toString(), 0, 3).append(' ').append(date)
+                    .append(' ').append(ChatbotText.formatMinute((int) s[1])).append('–').append(ChatbotText.formatMinute((int) s[2]));
+            if (s[4] >= 0) {
+                reply.append(" · ").append(dir.courseNames.getOrDefault(s[4], "Course " + s[4]));
+            }
+            if (s[3] >= 0) {
+                reply.append(" · ").append(dir.roomNames.getOrDefault(s[3], "Room " + s[3]));
+            }
+            reply.append('\n');
+        }
+        return reply.toString().trim();
+    }
+
+    private String busiest(String label, LocalDate[] dates, Function<EventColumnStore.Columns, int[]> keyColumn,
+                           Function<EventColumnStore.Columns, EventColumnStore.IdDictionary> dictionary,
+                           Map<Long, String> names) {
+        int fromDay = dates != null ? (int) dates[0].toEpochDay() : Integer.MIN_VALUE;
+        int toDay = dates != null ? (int) dates[1].toEpochDay() : Integer.MAX_VALUE;
+        Map<Long, Long> counts = eventColumnStore.read(c -> {
+            int[] keyIdx = keyColumn.apply(c);
+            long[] perIdx = new long[dictionary.apply(c).size()];
+            for (int row = 0; row < c.size(); row++) {
+                if (c.isLive(row) && c.status()[row] != CANCELLED && keyIdx[row] >= 0
+                        && c.epochDay()[row] >= fromDay && c.epochDay()[row] <= toDay) {
+                    perIdx[keyIdx[row]]++;
+                }
+            }
+            Map<Long, Long> byId = new HashMap<>();
+            for (int idx = 0; idx < perIdx.length; idx++) {
+                if (perIdx[idx] > 0) {
+                    byId.put(dictionary.apply(c).idAt(idx), perIdx[idx]);
+                }
+            }
+            return byId;
+        });
+
+        String period = dates != null ? " " + describe(dates) : "";
+        List<Map.Entry<Long, Long>> top = counts.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+                .limit(3)
+                .collect(Collectors.toList());
+        if (top.isEmpty()) {
+            return "🏆 No " + label + "s have any bookings" + period + ".";
+        }
+        Function<Map.Entry<Long, Long>, String> name = e -> names.getOrDefault(e.getKey(), label + " " + e.getKey());
+        String rest = top.stream().skip(1)
+                .map(e -> name.apply(e) + " (" + e.getValue() + ")")
+                .collect(Collectors.joining(", "));
+        return String.format("🏆 **Busiest %s%s: %s** with %d events.%s", label, period,
+                name.apply(top.get(0)), top.get(0).getValue(), rest.isEmpty() ? "" : " Next: " + rest + ".");
+    }
+
+    private String peakHours() {
+        long[] byHour = eventColumnStore.read(c -> {
+            long[] counts = new long[24];
+            for (int row = 0; row < c.size(); row++) {
+                if (c.isLive(row) && c.status()[row] != CANCELLED) {
+                    counts[c.startMinute()[row] / 60]++;
+                }
+            }
+            return counts;
+        });
+        List<Integer> hours = new ArrayList<>();
+        for (int h = 0; h < 24; h++) {
+            if (byHour[h] > 0) {
+                hours.add(h);
+            }
+        }
+        if (hours.isEmpty()) {
+            return "⏰ No events are scheduled yet, so there are no peak hours.";
+        }
+        hours.sort((a, b) -> Long.compare(byHour[b], byHour[a]));
+        return "⏰ **Peak start hours:** " + hours.stream().limit(3)
+                .map(h -> String.format("%02d:00 (%d events)", h, byHour[h]))
+                .collect(Collectors.joining(", "));
+    }
+
+    private Optional<String> count(String message, LocalDate[] dates) {
+        Directory dir = directory();
+        if (ROOMS.matcher(message).find()) {
+            if (!BOOKED.matcher(message).find()) {
+                return Optional.of(String.format("📊 **System Info**: We currently have **%d rooms** in our system.", dir.rooms.size()));
+            }
+            if (dates == null) {
+                dates = new LocalDate[]{LocalDate.now(), LocalDate.now()};
+            }
+            int fromDay = (int) dates[0].toEpochDay();
+            int toDay = (int) dates[1].toEpochDay();
+            long used = eventColumnStore.read(c -> {
+                BitSet rooms = new BitSet();
+                for (int row = 0; row < c.size(); row++) {
+                    if (c.isLive(row) && c.status()[row] != CANCELLED && c.roomIdx()[row] >= 0
+                            && c.epochDay()[row] >= fromDay && c.epochDay()[row] <= toDay) {
+                        rooms.set(c.roomIdx()[row]);
+                    }
+                }
+                return (long) rooms.cardinality();
+            });
+            return Optional.of(String.format("🏢 **%d of %d rooms** are booked %s.", used, dir.rooms.size(), describe(dates)));
+        }
+        if (EVENTS.matcher(message).find()) {
+            if (dates == null) {
+                return Optional.of(String.format("📅 **Current Status**: There are **%d total events** scheduled in our system.",
+                        eventColumnStore.countEvents()));
+            }
+            int fromDay = (int) dates[0].toEpochDay();
+            int toDay = (int) dates[1].toEpochDay();
+            long events = eventColumnStore.read(c -> {
+                long n = 0;
+                for (int row = 0; row < c.size(); row++) {
+                    if (c.isLive(row) && c.status()[row] != CANCELLED
+                            && c.epochDay()[row] >= fromDay && c.epochDay()[row] <= toDay) {
+                        n++;
+                    }
+                }
+                return n;
+            });
+            return Optional.of(String.format("📅 **%d events** are scheduled %s.", events, describe(dates)));
+        }
+        if (COURSES.matcher(message).find()) {
+            return Optional.of(String.format("📚 **Academic Info**: We have **%d courses** available for scheduling.", dir.courseNames.size()));
+        }
+        if (TEACHERS.matcher(message).find()) {
+            return Optional.of(String.format("👥 **User Stats**: There are **%d teachers** registered in our system.", dir.teachers.size()));
+        }
+        if (USERS.matcher(message).find()) {
+            return Optional.of(String.format("👥 **User Stats**: There are **%d users** registered in our system.", userRepository.count()));
+        }
+        return Optional.empty();
+    }
+
+    private User findTeacher(String message) {
+        TeacherName best = null;
+        for (TeacherName name : directory().teacherPatterns) {
+            if ((best == null || name.length > best.length) && name.pattern.matcher(message).find()) {
+                best = name;
+            }
+        }
+        return best != null ? best.teacher : null;
+    }
+
+    /**
+     * Word-bounded patterns for each teacher's full name (without title) and, when it is at
+     * least three letters long, their last name. Compiled once per directory load.
+     */
+    private static List<TeacherName> teacherPatterns(List<User> teachers) {
+        List<TeacherName> patterns = new ArrayList<>();
+        for (User teacher : teachers) {
+            String name = teacher.getName() == null ? ""
+                    : TITLE.matcher(teacher.getName().toLowerCase(Locale.ROOT)).replaceFirst("");
+            if (name.isBlank()) {
+                continue;
+            }
+            patterns.add(new TeacherName(teacher, name));
+            String[] parts = name.split("\\s+");
+            if (parts.length > 1 && parts[parts.length - 1].length() >= 3) {
+                patterns.add(new TeacherName(teacher, parts[parts.length - 1]));
+            }
+        }
+        return patterns;
+    }
+
+    /**
+     * {@code [from, to]} inclusive, or null when the message names no day.
+     */
+    static LocalDate[] parseDateRange(String message, LocalDate today) {
+        Matcher iso = ISO_DATE.matcher(message);
+        if (iso.find()) {
+            try {
+                LocalDate date = LocalDate.parse(iso.group(1));
+                return new LocalDate[]{date, date};
+            } catch (DateTimeParseException ignored) {
+                // fall through to relative dates
+            }
+        }
+        if (message.contains("next week")) {
+            return weekOf(today.plusWeeks(1));
+        }
+        if (message.contains("this week")) {
+            return weekOf(today);
+        }
+        if (message.contains("tomorrow")) {
+            return new LocalDate[]{today.plusDays(1), today.plusDays(1)};
+        }
+        if (message.contains("yesterday")) {
+            return new LocalDate[]{today.minusDays(1), today.minusDays(1)};
+        }
+        if (message.contains("today") || message.contains("tonight")) {
+            return new LocalDate[]{today, today};
+        }
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (message.contains(day.name().toLowerCase(Locale.ROOT))) {
+                LocalDate date = today.with(TemporalAdjusters.nextOrSame(day));
+                return new LocalDate[]{date, date};
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@code [startMinute, endMinute)} of the day, or null when the message names no time.
+     * Hours without am/pm are read on the 24-hour clock, except that a range ending before
+     * it starts on a 12-hour reading ("10-2") ends in the afternoon. A range that still ends
+     * before it starts yields {@link #UNREADABLE_WINDOW}.
+     */
+    static int[] parseTimeWindow(String message) {
+        String withoutDates = ISO_DATE.matcher(message).replaceAll(" ");
+        Matcher range = TIME_RANGE.matcher(withoutDates);
+        if (range.find()) {
+            String startMeridiem = range.group(3);
+            String endMeridiem = range.group(6);
+            int end = toMinute(range.group(4), range.group(5), endMeridiem);
+            int start = toMinute(range.group(1), range.group(2), startMeridiem != null ? startMeridiem : endMeridiem);
+            if (startMeridiem == null && endMeridiem != null && start >= end) {
+                // "10-2pm": the meridiem belongs to the end only
+                start = toMinute(range.group(1), range.group(2), null);
+            }
+            if (start < 0 || end < 0) {
+                return UNREADABLE_WINDOW;
+            }
+            if (startMeridiem == null && endMeridiem == null && end <= start && start < 12 * 60 && end < 12 * 60) {
+                end += 12 * 60;
+            }
+            return end > start ? new int[]{start, end} : UNREADABLE_WINDOW;
+        }
+        Matcher single = SINGLE_TIME.matcher(withoutDates);
+        if (single.find()) {
+            int start = single.group(1) != null
+                    ? toMinute(single.group(1), single.group(2), single.group(3))
+                    : toMinute(single.group(4), single.group(5), single.group(6));
+            if (start >= 0) {
+                return new int[]{start, Math.min(start + 60, 24 * 60)};
+            }
+        }
+        return null;
+    }
+
+    private static int toMinute(String hourText, String minuteText, String meridiem) {
+        int hour = Integer.parseInt(hourText);
+        int minute = minuteText != null ? Integer.parseInt(minuteText) : 0;
+        if (hour > 24 || minute > 59) {
+            return -1;
+        }
+        if ("pm".equals(meridiem) && hour < 12) {
+            hour += 12;
+        } else if ("am".equals(meridiem) && hour == 12) {
+            hour = 0;
+        }
+        return Math.min(hour * 60 + minute, 24 * 60);
+    }
+
+    private static LocalDate[] weekOf(LocalDate day) {
+        LocalDate monday = day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return new LocalDate[]{monday, monday.plusDays(6)};
+    }
+
+    private static String describe(LocalDate[] dates) {
+        return dates[0].equals(dates[1]) ? "on " + dates[0] : "between " + dates[0] + " and " + dates[1];
+    }
+
+    private static String limitedList(List<String> names) {
+        String listed = String.join(", ", names.subList(0, Math.min(MAX_LISTED, names.size())));
+        return names.size() > MAX_LISTED ? listed + " and " + (names.size() - MAX_LISTED) + " more" : listed;
+    }
+
+    private Directory directory() {
+        Directory current = directory;
+        if (current == null || System.currentTimeMillis() - current.loadedAt > directoryTtlMillis) {
+            List<Room> rooms = roomRepository.findAll(Sort.by("name"));
+            List<Course> courses = courseRepository.findAll();
+            List<User> teachers = userRepository.findByRole(Role.TEACHER);
+            current = new Directory(rooms, toNames(rooms, Room::getId, Room::getName),
+                    toNames(courses, Course::getId, Course::getName), teachers,
+                    toNames(teachers, User::getId, User::getName), teacherPatterns(teachers),
+                    System.currentTimeMillis());
+            directory = current;
+        }
+        return current;
+    }
+
+    private static <T> Map<Long, String> toNames(List<T> entities, Function<T, Long> id, Function<T, String> name) {
+        Map<Long, String> names = new HashMap<>();
+        for (T entity : entities) {
+            names.put(id.apply(entity), name.apply(entity));
+        }
+        return names;
+    }
+
+    /**
+     * Names the router needs to render answers, reloaded at most once per TTL.
+     */
+    private static final class Directory {
+        private final List<Room> rooms;
+        private final Map<Long, String> roomNames;
+        private final Map<Long, String> courseNames;
+        private final List<User> teachers;
+        private final Map<Long, String> teacherNames;
+        private final List<TeacherName> teacherPatterns;
+        private final long loadedAt;
+
+        private Directory(List<Room> rooms, Map<Long, String> roomNames, Map<Long, String> courseNames,
+                          List<User> teachers, Map<Long, String> teacherNames,
+                          List<TeacherName> teacherPatterns, long loadedAt) {
+            this.rooms = rooms;
+            this.roomNames = roomNames;
+            this.courseNames = courseNames;
+            this.teachers = teachers;
+            this.teacherNames = teacherNames;
+            this.teacherPatterns = teacherPatterns;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static final class TeacherName {
+        private final User teacher;
+        private final Pattern pattern;
+        private final int length;
+
+        private TeacherName(User teacher, String name) {
+            this.teacher = teacher;
+            this.pattern = Pattern.compile("\\b" + Pattern.quote(name) + "\\b");
+            this.length = name.length();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.reservation.service;
+
+import com.reservation.model.entity.Course;
+import com.reservation.model.entity.Room;
+import com.reservation.model.entity.User;
+import com.reservation.model.enums.EventStatus;
+import com.reservation.model.enums.EventType;
+import com.reservation.model.enums.Role;
+import com.reservation.repository.CourseRepository;
+import com.reservation.repository.RoomRepository;
+import com.reservation.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * In-process inverted index over rooms, courses, teachers and upcoming events, used to
+ * put only the facts relevant to a question into the chatbot prompt. Each fact is one
+ * short line of text; a query ranks lines with BM25 and returns the best ones until the
+ * token budget is used up. The index is rebuilt in the background on the context TTL.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatbotKnowledgeIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final byte CANCELLED = (byte) EventStatus.CANCELLED.ordinal();
+    private static final Set<String> STOP_WORDS = Set.of(
+            "how", "many", "what", "whats", "which", "who", "when", "where", "is", "are", "was", "were", "do",
+            "does", "there", "any", "to", "for", "on", "at", "and", "or", "with", "by", "this", "that", "it",
+            "show", "list", "give", "i", "we", "be", "have", "has", "all", "about"
+    );
+
+    private final EventColumnStore eventColumnStore;
+    private final RoomRepository roomRepository;
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+
+    @Value("${ai.context.upcoming-days:14}")
+    private int upcomingDays;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Most relevant facts for the question, best first, within roughly {@code tokenBudget}
+     * tokens (estimated at four characters per token).
+     */
+    public List<String> search(String question, int tokenBudget) {
+        Snapshot index = snapshot;
+        if (index == null) {
+            index = rebuild();
+        }
+        Map<String, Integer> queryTerms = new HashMap<>();
+        for (String term : terms(question)) {
+            queryTerms.merge(term, 1, Integer::sum);
+        }
+        if (queryTerms.isEmpty() || index.docs.length == 0) {
+            return List.of();
+        }
+
+        double[] scores = new double[index.docs.length];
+        for (String term : queryTerms.keySet()) {
+            int[] postings = index.postings.get(term);
+            if (postings == null) {
+                continue;
+            }
+            // postings hold (doc, term frequency) pairs
+            int docFrequency = postings.length / 2;
+            double idf = Math.log(1 + (index.docs.length - docFrequency + 0.5) / (docFrequency + 0.5));
+            for (int i = 0; i < postings.length; i += 2) {
+                int doc = postings[i];
+                int tf = postings[i + 1];
+                double norm = K1 * (1 - B + B * index.docLength[doc] / index.averageLength);
+                scores[doc] += idf * tf * (K1 + 1) / (tf + norm);
+            }
+        }
+
+        Integer[] ranked = new Integer[scores.length];
+        int matched = 0;
+        for (int doc = 0; doc < scores.length; doc++) {
+            if (scores[doc] > 0) {
+                ranked[matched++] = doc;
+            }
+        }
+        Arrays.sort(ranked, 0, matched, (a, b) -> Double.compare(scores[b], scores[a]));
+
+        List<String> facts = new ArrayList<>();
+        int budgetChars = tokenBudget * 4;
+        for (int i = 0; i < matched; i++) {
+            String doc = index.docs[ranked[i]];
+            if (doc.length() + 1 > budgetChars) {
+                continue;
+            }
+            facts.add(doc);
+            budgetChars -= doc.length() + 1;
+        }
+        return facts;
+    }
+
+    @Scheduled(fixedDelayString = "${ai.context.ttl-ms:30000}")
+    public void refreshInBackground() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Error rebuilding chatbot knowledge index", e);
+        }
+    }
+
+    private synchronized Snapshot rebuild() {
+        long start = System.currentTimeMillis();
+        List<String> docs = new ArrayList<>();
+
+        Map<Long, String> roomNames = new HashMap<>();
+        for (Room room : roomRepository.findAll()) {
+            roomNames.put(room.getId(), room.getName());
+            docs.add(String.format("Room %s: capacity %d%s", room.getName(), room.getCapacity(),
+                    room.getLocation() != null ? ", located in " + room.getLocation() : ""));
+        }
+        Map<Long, String> courseNames = new HashMap<>();
+        for (Course course : courseRepository.findAll()) {
+            courseNames.put(course.getId(), course.getName());
+            StringBuilder doc = new StringBuilder("Course ").append(course.getName());
+            if (course.getSubject() != null) {
+                doc.append(" (").append(course.getSubject()).append(')');
+            }
+            if (course.getDepartment() != null) {
+                doc.append(", department ").append(course.getDepartment());
+            }
+            if (course.getSessionsPerWeek() != null) {
+                doc.append(", ").append(course.getSessionsPerWeek()).append(" session(s)/week");
+            }
+            docs.add(doc.toString());
+        }
+        Map<Long, String> teacherNames = new HashMap<>();
+        for (User teacher : userRepository.findByRole(Role.TEACHER)) {
+            teacherNames.put(teacher.getId(), teacher.getName());
+        }
+
+        int today = (int) LocalDate.now().toEpochDay();
+        int lastDay = today + upcomingDays;
+        Map<Long, Long> sessionsByTeacher = new HashMap<>();
+        eventColumnStore.read(c -> {
+            EventType[] types = EventType.values();
+            for (int row = 0; row < c.size(); row++) {
+                int day = c.epochDay()[row];
+                if (!c.isLive(row) || c.status()[row] == CANCELLED || day < today || day > lastDay) {
+                    continue;
+                }
+                Long teacherId = c.teacherIdx()[row] >= 0 ? c.teachers().idAt(c.teacherIdx()[row]) : null;
+                LocalDate date = LocalDate.ofEpochDay(day);
+                StringBuilder doc = new StringBuilder("Event ")
+                        .append(date.getDayOfWeek()).append(' ').append(date).append(' ')
+                        .append(ChatbotText.formatMinute(c.startMinute()[row])).append('-').append(ChatbotText.formatMinute(c.endMinute()[row]))
+                        .append(' ').append(types[c.type()[row]]);
+                if (c.courseIdx()[row] >= 0) {
+                    long courseId = c.courses().idAt(c.courseIdx()[row]);
+                    doc.append(", course ").append(courseNames.getOrDefault(courseId, "#" + courseId));
+                }
+                if (c.roomIdx()[row] >= 0) {
+                    long roomId = c.rooms().idAt(c.roomIdx()[row]);
+                    doc.append(", room ").append(roomNames.getOrDefault(roomId, "#" + roomId));
+                }
+                if (teacherId != null) {
+                    doc.append(", teacher ").append(teacherNames.getOrDefault(teacherId, "#" + teacherId));
+                    sessionsByTeacher.merge(teacherId, 1L, Long::sum);
+                }
+                docs.add(doc.toString());
+            }
+            return null;
+        });
+        teacherNames.forEach((id, name) -> docs.add(String.format("Teacher %s: %d session(s) in the next %d days",
+                name, sessionsByTeacher.getOrDefault(id, 0L), upcomingDays)));
+
+        Snapshot built = index(docs);
+        snapshot = built;
+        log.debug("🔎 Chatbot knowledge index rebuilt: {} facts, {} terms in {}ms",
+                built.docs.length, built.postings.size(), System.currentTimeMillis() - start);
+        return built;
+    }
+
+    private static Snapshot index(List<String> docs) {
+        Map<String, List<int[]>> building = new HashMap<>();
+        int[] docLength = new int[docs.size()];
+        long totalLength = 0;
+        for (int doc = 0; doc < docs.size(); doc++) {
+            List<String> terms = terms(docs.get(doc));
+            docLength[doc] = terms.size();
+            totalLength += terms.size();
+            Map<String, Integer> tf = new HashMap<>();
+            for (String term : terms) {
+                tf.merge(term, 1, Integer::sum);
+            }
+            for (Map.Entry<String, Integer> e : tf.entrySet()) {
+                building.computeIfAbsent(e.getKey(), k -> new ArrayList<>()).add(new int[]{doc, e.getValue()});
+            }
+        }
+
+        Map<String, int[]> postings = new HashMap<>(building.size() * 2);
+        building.forEach((term, list) -> {
+            int[] flat = new int[list.size() * 2];
+            for (int i = 0; i < list.size(); i++) {
+                flat[2 * i] = list.get(i)[0];
+                flat[2 * i + 1] = list.get(i)[1];
+            }
+            postings.put(term, flat);
+        });
+        double averageLength = docs.isEmpty() ? 1 : Math.max(1.0, (double) totalLength / docs.size());
+        return new Snapshot(docs.toArray(new String[0]), postings, docLength, averageLength);
+    }
+
+    private static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String term : ChatbotText.terms(text)) {
+            if (!STOP_WORDS.contains(term)) {
+                terms.add(ChatbotText.stem(term));
+            }
+        }
+        return terms;
+    }
+
+    private static final class Snapshot {
+        private final String[] docs;
+        private final Map<String, int[]> postings;
+        private final int[] docLength;
+        private final double averageLength;
+
+        private Snapshot(String[] docs, Map<String, int[]> postings, int[] docLength, double averageLength) {
+            this.docs = docs;
+            this.postings = postings;
+            this.docLength = docLength;
+            this.averageLength = averageLength;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.reservation.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the LLM prompt within a fixed token budget so generation latency stays bounded.
+ * Tokens are estimated at roughly four characters each, which is close enough for
+ * llama-style tokenizers on English text. When the context does not fit, whole lines are
+ * dropped from its end first (retrieved facts are ordered best first, so the least relevant
+ * go first).
+ */
+@Slf4j
+@Component
+public class ChatbotPromptBuilder {
+
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private static final String INSTRUCTIONS = """
+            You are the assistant for THIS university room reservation system and have its live data below.
+            Rules: answer about this system only; use the exact numbers and names from the data; \
+            say "In YOUR system, ..." rather than generalities; if a number is 0, say no data may be loaded yet; \
+            be concise, professional and suggest a concrete next action when useful.
+            """;
+
+    private final int maxPromptTokens;
+    private final int numPredict;
+    private final int numCtx;
+
+    public ChatbotPromptBuilder(@Value("${ai.prompt.max-tokens:1200}") int maxPromptTokens,
+                                @Value("${ai.prompt.num-predict:256}") int numPredict,
+                                @Value("${ai.prompt.num-ctx:2048}") int numCtx) {
+        this.maxPromptTokens = maxPromptTokens;
+        this.numPredict = numPredict;
+        this.numCtx = numCtx;
+    }
+
+    public String build(String userMessage, String context) {
+        String question = truncate(userMessage == null ? "" : userMessage.trim(), maxPromptTokens / 4);
+        int fixedTokens = estimateTokens(INSTRUCTIONS) + estimateTokens(question) + 16;
+        String trimmedContext = fitContext(context == null ? "" : context, maxPromptTokens - fixedTokens);
+
+        String prompt = INSTRUCTIONS
+                + "\nDATA:\n" + trimmedContext
+                + "\nQUESTION: " + question
+                + "\nANSWER:";
+        log.debug("🤖 Prompt ~{} tokens (context {} -> {} chars)", estimateTokens(prompt),
+                context == null ? 0 : context.length(), trimmedContext.length());
+        return prompt;
+    }
+
+    /** Maximum number of tokens the model may generate for one reply. */
+    public int getNumPredict() {
+        return numPredict;
+    }
+
+    /**
+     * Context window to request; always large enough for the prompt budget plus the reply.
+     */
+    public int getNumCtx() {
+        return Math.max(numCtx, maxPromptTokens + numPredict);
+    }
+
+    public static int estimateTokens(String text) {
+        return (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    private static String fitContext(String context, int tokenBudget) {
+        if (tokenBudget <= 0) {
+            return "";
+        }
+        int budgetChars = tokenBudget * CHARS_PER_TOKEN;
+        if (context.length() <= budgetChars) {
+            return context;
+        }
+        int cut = context.lastIndexOf('\n', budgetChars);
+        return cut > 0 ? context.substring(0, cut + 1) : context.substring(0, budgetChars);
+    }
+
+    private static String truncate(String text, int tokenBudget) {
+        int budgetChars = Math.max(1, tokenBudget) * CHARS_PER_TOKEN;
+        return text.length() <= budgetChars ? text : text.substring(0, budgetChars);
+    }
+}
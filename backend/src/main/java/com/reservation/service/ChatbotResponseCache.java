@@ -0,0 +1,197 @@
+package com.reservation.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of chatbot replies keyed on the normalized question plus a version stamp of
+ * the data the model saw (column store version and chatbot context version). A repeated
+ * question is answered from memory until the underlying data changes or the entry reaches
+ * its maximum age; entries for older versions are never returned and simply age out of the
+ * LRU.
+ *
+ * Optionally, a question that is not an exact match can reuse the reply of a near-identical
+ * question: both are turned into term vectors and compared by cosine similarity, and only
+ * questions mentioning the same numbers (times, room numbers, counts) are considered.
+ */
+@Service
+public class ChatbotResponseCache {
+
+    private final EventColumnStore eventColumnStore;
+    private final ChatbotContextProvider contextProvider;
+    private final int maxEntries;
+    private final double similarityThreshold;
+    private final long maxAgeMs;
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong similarHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ChatbotResponseCache(EventColumnStore eventColumnStore,
+                                ChatbotContextProvider contextProvider,
+                                @Value("${ai.cache.max-entries:500}") int maxEntries,
+                                @Value("${ai.cache.similarity-threshold:0}") double similarityThreshold,
+                                @Value("${ai.cache.max-age-ms:600000}") long maxAgeMs) {
+        this.eventColumnStore = eventColumnStore;
+        this.contextProvider = contextProvider;
+        this.maxEntries = maxEntries;
+        this.similarityThreshold = similarityThreshold;
+        this.maxAgeMs = maxAgeMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ChatbotResponseCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Cached reply for the question under the current data version, if any.
+     */
+    public Optional<String> get(String question) {
+        if (maxEntries <= 0) {
+            return Optional.empty();
+        }
+        String dataVersion = currentDataVersion();
+        List<String> terms = ChatbotText.terms(question);
+        String key = dataVersion + "|" + String.join(" ", terms);
+
+        long oldest = System.currentTimeMillis() - maxAgeMs;
+        synchronized (entries) {
+            Entry exact = entries.get(key);
+            if (exact != null && exact.storedAt < oldest) {
+                entries.remove(key);
+            } else if (exact != null) {
+                hits.incrementAndGet();
+                return Optional.of(exact.reply);
+            }
+            if (similarityThreshold > 0 && !terms.isEmpty()) {
+                Entry similar = findSimilar(dataVersion, termVector(terms), numbers(terms), oldest);
+                if (similar != null) {
+                    similarHits.incrementAndGet();
+                    return Optional.of(similar.reply);
+                }
+            }
+        }
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    /**
+     * Remember a successfully generated reply under the data version captured (via
+     * {@link #currentDataVersion()}) before generation started, so a reply built from data
+     * that changed mid-generation is never served as current. Callers should only store
+     * real model output, never fallback or error replies. Replies are stored trimmed, so the
+     * blocking and streaming endpoints serve the same text.
+     */
+    public void put(String question, String dataVersion, String reply) {
+        if (maxEntries <= 0 || reply == null || reply.isBlank()) {
+            return;
+        }
+        List<String> terms = ChatbotText.terms(question);
+        Entry entry = new Entry(dataVersion, termVector(terms), numbers(terms), reply.trim(), System.currentTimeMillis());
+        synchronized (entries) {
+            entries.put(dataVersion + "|" + String.join(" ", terms), entry);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("entries", entries.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("maxAgeMs", maxAgeMs);
+        stats.put("hits", hits.get());
+        stats.put("similarHits", similarHits.get());
+        stats.put("misses", misses.get());
+        return stats;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public String currentDataVersion() {
+        return eventColumnStore.getVersion() + "." + contextProvider.getContextVersion();
+    }
+
+    private Entry findSimilar(String dataVersion, Map<String, Double> vector, Set<String> numbers, long oldest) {
+        Entry best = null;
+        double bestScore = similarityThreshold;
+        for (Entry candidate : entries.values()) {
+            if (!candidate.dataVersion.equals(dataVersion) || !candidate.numbers.equals(numbers)
+                    || candidate.storedAt < oldest) {
+                continue;
+            }
+            double score = cosine(vector, candidate.vector);
+            if (score >= bestScore) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private static Map<String, Double> termVector(List<String> terms) {
+        Map<String, Double> vector = new HashMap<>();
+        for (String term : terms) {
+            vector.merge(ChatbotText.stem(term), 1.0, Double::sum);
+        }
+        return vector;
+    }
+
+    private static Set<String> numbers(List<String> terms) {
+        Set<String> numbers = new TreeSet<>();
+        for (String term : terms) {
+            if (term.chars().anyMatch(Character::isDigit)) {
+                numbers.add(term);
+            }
+        }
+        return numbers;
+    }
+
+    private static double cosine(Map<String, Double> a, Map<String, Double> b) {
+        double dot = 0;
+        for (Map.Entry<String, Double> e : a.entrySet()) {
+            Double other = b.get(e.getKey());
+            if (other != null) {
+                dot += e.getValue() * other;
+            }
+        }
+        if (dot == 0) {
+            return 0;
+        }
+        return dot / (norm(a) * norm(b));
+    }
+
+    private static double norm(Map<String, Double> vector) {
+        double sum = 0;
+        for (double v : vector.values()) {
+            sum += v * v;
+        }
+        return Math.sqrt(sum);
+    }
+
+    private static final class Entry {
+        private final String dataVersion;
+        private final Map<String, Double> vector;
+        private final Set<String> numbers;
+        private final String reply;
+        private final long storedAt;
+
+        private Entry(String dataVersion, Map<String, Double> vector, Set<String> numbers, String reply, long storedAt) {
+            this.dataVersion = dataVersion;
+            this.vector = vector;
+            this.numbers = numbers;
+            this.reply = reply;
+            this.storedAt = storedAt;
+        }
+    }
+}
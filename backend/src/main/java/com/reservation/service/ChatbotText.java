@@ -0,0 +1,55 @@
+package com.reservation.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Text handling shared by the chatbot's reply cache, knowledge index and intent router, so
+ * questions, facts and answers are normalized and formatted the same way everywhere.
+ */
+final class ChatbotText {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> FILLER_WORDS = Set.of(
+            "please", "pls", "hi", "hey", "hello", "thanks", "thank", "you", "can", "could", "would",
+            "tell", "me", "the", "a", "an", "of", "in", "our", "my", "us"
+    );
+
+    private ChatbotText() {
+    }
+
+    /**
+     * Lower-cased, accent-folded words with punctuation and filler words removed; the
+     * normalized form of "Hi! How many ROOMS are there?" is "how many rooms are there".
+     */
+    static List<String> terms(String text) {
+        String folded = Normalizer.normalize(text == null ? "" : text, Normalizer.Form.NFKD)
+                .replaceAll("\\p{M}", "")
+                .replace("'", "")
+                .replace("’", "")
+                .toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        for (String word : NON_WORD.split(folded)) {
+            if (!word.isEmpty() && !FILLER_WORDS.contains(word)) {
+                terms.add(word);
+            }
+        }
+        return terms;
+    }
+
+    /** Crude plural folding so "room" and "rooms" land on the same term. */
+    static String stem(String term) {
+        return term.length() > 3 && term.endsWith("s") && !term.endsWith("ss")
+                ? term.substring(0, term.length() - 1)
+                : term;
+    }
+
+    /** Minutes since midnight as HH:mm. */
+    static String formatMinute(int minute) {
+        return String.format("%02d:%02d", minute / 60, minute % 60);
+    }
+}
@@ -1,13 +1,9 @@
 package com.reservation.service;
 
+import com.reservation.dto.mapper.ResponseMapper;
 import com.reservation.dto.response.ConflictResponse;
-import com.reservation.dto.response.EventResponse;
-import com.reservation.dto.response.RoomResponse;
-import com.reservation.dto.response.UserResponse;
 import com.reservation.model.entity.Conflict;
 import com.reservation.model.entity.Event;
-import com.reservation.model.entity.Room;
-import com.reservation.model.entity.User;
 import com.reservation.model.enums.ConflictType;
 import com.reservation.repository.ConflictRepository;
 import com.reservation.repository.EventRepository;
@@ -28,10 +24,12 @@ public class ConflictDetectionService {
     private final ConflictRepository conflictRepository;
     private final EventRepository eventRepository;
     private final EntityManager entityManager;
+    private final ResponseMapper responseMapper;
 
     @Transactional
     public List<ConflictResponse> detectAndSaveAllConflicts() {
         try {
+            ResponseMapper.Session mapping = responseMapper.session();
             System.out.println("=== STARTING CONFLICT DETECTION ===");
             
             // Clear existing conflicts to avoid duplicates
@@ -119,8 +117,8 @@ public class ConflictDetectionService {
                                     .id(saved.getId())
                                     .conflictType(ConflictType.ROOM)
                                     .description(roomDescription)
-                                    .event1(mapEventToResponse(freshEvent1))
-                                    .event2(mapEventToResponse(freshEvent2))
+                                    .event1(mapping.event(freshEvent1))
+                                    .event2(mapping.event(freshEvent2))
                                     .build();
                                 results.add(response);
                                 System.out.println("  SAVED ROOM CONFLICT: " + roomDescription);
@@ -169,8 +167,8 @@ public class ConflictDetectionService {
                                     .id(saved.getId())
                                     .conflictType(ConflictType.TEACHER)
                                     .description(teacherDescription)
-                                    .event1(mapEventToResponse(freshEvent1))
-                                    .event2(mapEventToResponse(freshEvent2))
+                                    .event1(mapping.event(freshEvent1))
+                                    .event2(mapping.event(freshEvent2))
                                     .build();
                                 results.add(response);
                                 System.out.println("  SAVED TEACHER CONFLICT: " + teacherDescription);
@@ -194,6 +192,8 @@ public class ConflictDetectionService {
     @Transactional(readOnly = true)
     public List<ConflictResponse> getAllConflicts() {
         try {
+            // Events share room and teacher DTOs across all conflicts in the response
+            ResponseMapper.Session mapping = responseMapper.session();
             List<Conflict> conflicts = conflictRepository.findAll();
             List<ConflictResponse> responses = new ArrayList<>();
             
@@ -210,8 +210,8 @@ public class ConflictDetectionService {
                             .id(conflict.getId())
                             .conflictType(conflict.getConflictType())
                             .description(conflict.getDescription())
-                            .event1(mapEventToResponse(event1))
-                            .event2(event2 != null ? mapEventToResponse(event2) : null)
+                            .event1(mapping.event(event1))
+                            .event2(event2 != null ? mapping.event(event2) : null)
                             .build();
                         
                         responses.add(response);
@@ -238,6 +238,7 @@ public class ConflictDetectionService {
     // Non-transactional method for testing conflict detection logic
     public List<ConflictResponse> testConflictDetection() {
         try {
+            ResponseMapper.Session mapping = responseMapper.session();
             System.out.println("=== TESTING CONFLICT DETECTION (NO SAVE) ===");
             
             List<Event> allEvents = eventRepository.findAll();
@@ -286,8 +287,8 @@ public class ConflictDetectionService {
                             .conflictType(ConflictType.ROOM)
                             .description("Room '" + event1.getRoom().getName() + "' double-booked: " + 
                                        event1.getType() + " vs " + event2.getType() + " on " + event1.getDate())
-                            .event1(mapEventToResponse(event1))
-                            .event2(mapEventToResponse(event2))
+                            .event1(mapping.event(event1))
+                            .event2(mapping.event(event2))
                             .build();
                         
                         results.add(roomConflict);
@@ -304,8 +305,8 @@ public class ConflictDetectionService {
                             .conflictType(ConflictType.TEACHER)
                             .description("Teacher '" + event1.getTeacher().getName() + "' double-booked: " + 
                                        event1.getType() + " vs " + event2.getType() + " on " + event1.getDate())
-                            .event1(mapEventToResponse(event1))
-                            .event2(mapEventToResponse(event2))
+                            .event1(mapping.event(event1))
+                            .event2(mapping.event(event2))
                             .build();
                         
                         results.add(teacherConflict);
@@ -491,69 +492,4 @@ public class ConflictDetectionService {
     private LocalTime getOverlapEnd(LocalTime start1, LocalTime end1, LocalTime start2, LocalTime end2) {
         return end1.isBefore(end2) ? end1 : end2;
     }
-
-    private ConflictResponse mapToResponse(Conflict conflict) {
-        // Map event1 directly without service call
-        EventResponse event1Response = null;
-        if (conflict.getEvent1() != null) {
-            Event event1 = conflict.getEvent1();
-            event1Response = mapEventToResponse(event1);
-        }
-        
-        // Map event2 directly without service call
-        EventResponse event2Response = null;
-        if (conflict.getEvent2() != null) {
-            Event event2 = conflict.getEvent2();
-            event2Response = mapEventToResponse(event2);
-        }
-
-        return ConflictResponse.builder()
-                .id(conflict.getId() != null ? conflict.getId() : 0L) // Use 0 for unsaved conflicts
-                .conflictType(conflict.getConflictType())
-                .event1(event1Response)
-                .event2(event2Response)
-                .description(conflict.getDescription())
-                .build();
-    }
-    
-    private EventResponse mapEventToResponse(Event event) {
-        // Create room response if room exists
-        RoomResponse roomResponse = null;
-        if (event.getRoom() != null) {
-            Room room = event.getRoom();
-            roomResponse = RoomResponse.builder()
-                    .id(room.getId())
-                    .name(room.getName())
-                    .capacity(room.getCapacity())
-                    .location(room.getLocation())
-                    .build();
-        }
-        
-        // Create teacher response if teacher exists
-        UserResponse teacherResponse = null;
-        if (event.getTeacher() != null) {
-            User teacher = event.getTeacher();
-            teacherResponse = UserResponse.builder()
-                    .id(teacher.getId())
-                    .name(teacher.getName())
-                    .email(teacher.getEmail())
-                    .role(teacher.getRole())
-                    .build();
-        }
-        
-        return EventResponse.builder()
-                .id(event.getId())
-                .type(event.getType())
-                .date(event.getDate())
-                .startTime(event.getStartTime())
-                .endTime(event.getEndTime())
-                .room(roomResponse)
-                .teacher(teacherResponse)
-                .status(event.getStatus())
-                .title(event.getTitle())
-                .description(event.getDescription())
-                .expectedParticipants(event.getExpectedParticipants())
-                .preferredDates(event.getPreferredDates())
-                .build();
-    }
 }
@@ -0,0 +1,383 @@
+package com.reservation.service;
+
+import com.reservation.model.enums.EventStatus;
+import com.reservation.model.enums.EventType;
+import com.reservation.model.listener.EventChange;
+import com.reservation.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Read-optimized, columnar copy of the events table.
+ *
+ * Every event is one row spread over parallel primitive arrays (day, start/end minute,
+ * room/teacher/course dictionary index, type, status), so group-bys and overlap scans
+ * are plain array loops instead of walks over entity graphs. The store is loaded once,
+ * kept current from {@link EventChange} notifications after each commit, and fully
+ * rebuilt on a fixed interval to reconcile anything written outside JPA.
+ */
+@Slf4j
+@Service
+public class EventColumnStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<EventChange> changesDuringRebuild = new ArrayList<>();
+    private final AtomicLong version = new AtomicLong();
+    private Columns columns = new Columns(INITIAL_CAPACITY);
+    private boolean rebuilding;
+    private volatile boolean loaded;
+
+    public EventColumnStore(EventRepository eventRepository, PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Run a scan against the current columns under the read lock. The reader must not
+     * keep references to the arrays after it returns.
+     */
+    public <T> T read(Function<Columns, T> reader) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return reader.apply(columns);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Monotonic counter bumped on every applied change or rebuild. Callers can use it
+     * to tell whether anything they derived from the store is stale.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    public long countEvents() {
+        return read(Columns::liveRows);
+    }
+
+    public Map<EventType, Long> countByType() {
+        return read(c -> {
+            EventType[] types = EventType.values();
+            long[] counts = new long[types.length];
+            for (int row = 0; row < c.size; row++) {
+                if (c.isLive(row)) {
+                    counts[c.type[row]]++;
+                }
+            }
+            Map<EventType, Long> result = new EnumMap<>(EventType.class);
+            for (int i = 0; i < types.length; i++) {
+                if (counts[i] > 0) {
+                    result.put(types[i], counts[i]);
+                }
+            }
+            return result;
+        });
+    }
+
+    public Map<EventStatus, Long> countByStatus() {
+        return read(c -> {
+            EventStatus[] statuses = EventStatus.values();
+            long[] counts = new long[statuses.length];
+            for (int row = 0; row < c.size; row++) {
+                if (c.isLive(row)) {
+                    counts[c.status[row]]++;
+                }
+            }
+            Map<EventStatus, Long> result = new EnumMap<>(EventStatus.class);
+            for (int i = 0; i < statuses.length; i++) {
+                if (counts[i] > 0) {
+                    result.put(statuses[i], counts[i]);
+                }
+            }
+            return result;
+        });
+    }
+
+    public Map<Long, Long> countByRoomId() {
+        return read(c -> groupCount(c, c.roomIdx, c.rooms));
+    }
+
+    public Map<Long, Long> countByTeacherId() {
+        return read(c -> groupCount(c, c.teacherIdx, c.teachers));
+    }
+
+    public Map<Long, Long> countByCourseId() {
+        return read(c -> groupCount(c, c.courseIdx, c.courses));
+    }
+
+    private static Map<Long, Long> groupCount(Columns c, int[] keyIdx, IdDictionary dictionary) {
+        long[] counts = new long[dictionary.size()];
+        for (int row = 0; row < c.size; row++) {
+            int idx = keyIdx[row];
+            if (idx >= 0 && c.isLive(row)) {
+                counts[idx]++;
+            }
+        }
+        Map<Long, Long> result = new HashMap<>();
+        for (int idx = 0; idx < counts.length; idx++) {
+            if (counts[idx] > 0) {
+                result.put(dictionary.idAt(idx), counts[idx]);
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                columns.apply(change);
+                version.incrementAndGet();
+            }
+            if (rebuilding) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.analytics.column-store.rebuild-interval-ms:600000}",
+               fixedDelayString = "${app.analytics.column-store.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        if (loaded) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reload every row from the database. Changes committed while the load is running
+     * are replayed on top of the fresh columns before they are swapped in.
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            changesDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            Columns fresh = readOnlyTransaction.execute(status -> {
+                Columns loading = new Columns(INITIAL_CAPACITY);
+                try (Stream<Object[]> rows = eventRepository.streamEventColumns()) {
+                    rows.forEach(loading::load);
+                }
+                return loading;
+            });
+
+            lock.writeLock().lock();
+            try {
+                for (EventChange change : changesDuringRebuild) {
+                    fresh.apply(change);
+                }
+                columns = fresh;
+                loaded = true;
+                version.incrementAndGet();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("📊 Column store rebuilt: {} events in {}ms", fresh.liveRows(), System.currentTimeMillis() - start);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                changesDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    /**
+     * Parallel arrays holding one event per row. Deleted rows are tombstoned with a
+     * negative status and compacted away on the next rebuild.
+     */
+    public static final class Columns {
+
+        public static final byte DELETED = -1;
+
+        private final Map<Long, Integer> rowByEventId = new HashMap<>();
+        private final IdDictionary rooms = new IdDictionary();
+        private final IdDictionary teachers = new IdDictionary();
+        private final IdDictionary courses = new IdDictionary();
+
+        private int size;
+        private long[] eventId;
+        private int[] epochDay;
+        private short[] startMinute;
+        private short[] endMinute;
+        private int[] roomIdx;
+        private int[] teacherIdx;
+        private int[] courseIdx;
+        private byte[] type;
+        private byte[] status;
+
+        private Columns(int capacity) {
+            eventId = new long[capacity];
+            epochDay = new int[capacity];
+            startMinute = new short[capacity];
+            endMinute = new short[capacity];
+            roomIdx = new int[capacity];
+            teacherIdx = new int[capacity];
+            courseIdx = new int[capacity];
+            type = new byte[capacity];
+            status = new byte[capacity];
+        }
+
+        /** Number of rows including tombstones; iterate {@code [0, size)} and check {@link #isLive}. */
+        public int size() { return size; }
+        public boolean isLive(int row) { return status[row] != DELETED; }
+        public long[] eventId() { return eventId; }
+        public int[] epochDay() { return epochDay; }
+        public short[] startMinute() { return startMinute; }
+        public short[] endMinute() { return endMinute; }
+        /** Dictionary index into {@link #rooms()}, or -1 when the event has no room. */
+        public int[] roomIdx() { return roomIdx; }
+        public int[] teacherIdx() { return teacherIdx; }
+        /** Dictionary index into {@link #courses()}, or -1 when the event is not a course session. */
+        public int[] courseIdx() { return courseIdx; }
+        /** {@link EventType} ordinal. */
+        public byte[] type() { return type; }
+        /** {@link EventStatus} ordinal, or {@link #DELETED}. */
+        public byte[] status() { return status; }
+        public IdDictionary rooms() { return rooms; }
+        public IdDictionary teachers() { return teachers; }
+        public IdDictionary courses() { return courses; }
+
+        public long liveRows() {
+            return rowByEventId.size();
+        }
+
+        private void load(Object[] row) {
+            Long id = (Long) row[0];
+            int target = append();
+            rowByEventId.put(id, target);
+            set(target, id, (LocalDate) row[1], (LocalTime) row[2], (LocalTime) row[3],
+                    (Long) row[4], (Long) row[5], (Long) row[6], (EventType) row[7], (EventStatus) row[8]);
+        }
+
+        private void apply(EventChange change) {
+            Integer row = rowByEventId.get(change.getEventId());
+            if (change.getKind() == EventChange.Kind.DELETED) {
+                if (row != null) {
+                    status[row] = DELETED;
+                    rowByEventId.remove(change.getEventId());
+                }
+                return;
+            }
+            if (row == null) {
+                row = append();
+                rowByEventId.put(change.getEventId(), row);
+            }
+            set(row, change.getEventId(), change.getDate(), change.getStartTime(), change.getEndTime(),
+                    change.getRoomId(), change.getTeacherId(), change.getCourseId(), change.getType(), change.getStatus());
+        }
+
+        private void set(int row, Long id, LocalDate date, LocalTime start, LocalTime end,
+                         Long roomId, Long teacherId, Long courseId, EventType eventType, EventStatus eventStatus) {
+            eventId[row] = id;
+            epochDay[row] = (int) date.toEpochDay();
+            startMinute[row] = (short) (start.toSecondOfDay() / 60);
+            endMinute[row] = (short) (end.toSecondOfDay() / 60);
+            roomIdx[row] = rooms.indexOf(roomId);
+            teacherIdx[row] = teachers.indexOf(teacherId);
+            courseIdx[row] = courses.indexOf(courseId);
+            type[row] = (byte) eventType.ordinal();
+            status[row] = (byte) eventStatus.ordinal();
+        }
+
+        private int append() {
+            if (size == eventId.length) {
+                int capacity = eventId.length * 2;
+                eventId = Arrays.copyOf(eventId, capacity);
+                epochDay = Arrays.copyOf(epochDay, capacity);
+                startMinute = Arrays.copyOf(startMinute, capacity);
+                endMinute = Arrays.copyOf(endMinute, capacity);
+                roomIdx = Arrays.copyOf(roomIdx, capacity);
+                teacherIdx = Arrays.copyOf(teacherIdx, capacity);
+                courseIdx = Arrays.copyOf(courseIdx, capacity);
+                type = Arrays.copyOf(type, capacity);
+                status = Arrays.copyOf(status, capacity);
+            }
+            return size++;
+        }
+    }
+
+    /**
+     * Dense mapping between entity ids and small array indexes.
+     */
+    public static final class IdDictionary {
+
+        private final Map<Long, Integer> indexById = new HashMap<>();
+        private long[] ids = new long[64];
+
+        public int size() {
+            return indexById.size();
+        }
+
+        public long idAt(int index) {
+            return ids[index];
+        }
+
+        /** Index of the id, or -1 when it has never been seen. */
+        public int find(Long id) {
+            if (id == null) {
+                return -1;
+            }
+            Integer index = indexById.get(id);
+            return index != null ? index : -1;
+        }
+
+        private int indexOf(Long id) {
+            if (id == null) {
+                return -1;
+            }
+            Integer index = indexById.get(id);
+            if (index == null) {
+                index = indexById.size();
+                if (index == ids.length) {
+                    ids = Arrays.copyOf(ids, ids.length * 2);
+                }
+                ids[index] = id;
+                indexById.put(id, index);
+            }
+            return index;
+        }
+    }
+}
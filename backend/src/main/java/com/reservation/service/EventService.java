@@ -1,5 +1,6 @@
 package com.reservation.service;
 
+import com.reservation.dto.mapper.ResponseMapper;
 import com.reservation.dto.request.*;
 import com.reservation.dto.response.*;
 import com.reservation.model.entity.Event;
@@ -28,6 +29,7 @@ public class EventService {
     private final RoomRepository roomRepository;
     private final AvailabilityRepository availabilityRepository;
     private final ConflictRepository conflictRepository;
+    private final ResponseMapper responseMapper;
 
     public EventResponse createEvent(EventCreateRequest request) {
         User teacher = userRepository.findById(request.getTeacherId())
@@ -54,10 +56,11 @@ public class EventService {
     }
 
     public List<EventResponse> getAllEvents() {
-        return eventRepository.findAll()
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return responseMapper.toEventResponses(eventRepository.findAll());
+    }
+
+    public CompactSchedule getAllEventsCompact() {
+        return responseMapper.toCompactSchedule(eventRepository.findAll());
     }
 
     public Optional<EventResponse> getEventById(Long id) {
@@ -245,44 +248,7 @@ public class EventService {
     }
 
     private EventResponse mapToResponse(Event event) {
-        // Create room response if room exists
-        RoomResponse roomResponse = null;
-        if (event.getRoom() != null) {
-            Room room = event.getRoom();
-            roomResponse = RoomResponse.builder()
-                    .id(room.getId())
-                    .name(room.getName())
-                    .capacity(room.getCapacity())
-                    .location(room.getLocation())
-                    .build();
-        }
-        
-        // Create teacher response if teacher exists
-        UserResponse teacherResponse = null;
-        if (event.getTeacher() != null) {
-            User teacher = event.getTeacher();
-            teacherResponse = UserResponse.builder()
-                    .id(teacher.getId())
-                    .name(teacher.getName())
-                    .email(teacher.getEmail())
-                    .role(teacher.getRole())
-                    .build();
-        }
-        
-        return EventResponse.builder()
-                .id(event.getId())
-                .type(event.getType())
-                .date(event.getDate())
-                .startTime(event.getStartTime())
-                .endTime(event.getEndTime())
-                .room(roomResponse)
-                .teacher(teacherResponse)
-                .status(event.getStatus())
-                .title(event.getTitle())
-                .description(event.getDescription())
-                .expectedParticipants(event.getExpectedParticipants())
-                .preferredDates(event.getPreferredDates())
-                .build();
+        return responseMapper.toEventResponse(event);
     }
 
     private UnscheduledEventResponse mapToUnscheduledResponse(UnscheduledEventRequest request, String reason) {
@@ -290,13 +256,7 @@ public class EventService {
         UserResponse teacher = null;
         Optional<User> teacherOpt = userRepository.findById(request.getTeacherId());
         if (teacherOpt.isPresent()) {
-            User teacherEntity = teacherOpt.get();
-            teacher = UserResponse.builder()
-                    .id(teacherEntity.getId())
-                    .name(teacherEntity.getName())
-                    .email(teacherEntity.getEmail())
-                    .role(teacherEntity.getRole())
-                    .build();
+            teacher = responseMapper.toUserResponse(teacherOpt.get());
         }
         
         return UnscheduledEventResponse.builder()
@@ -0,0 +1,249 @@
+package com.reservation.service;
+
+import com.reservation.dto.request.ExportFilterRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Bulk CSV export that streams rows from a forward-only JDBC cursor straight into the
+ * response, so memory stays bounded no matter how many years of events are exported.
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private static final String EVENTS_SQL =
+            "SELECT e.id, e.date, e.start_time, e.end_time, e.type, e.status, e.title, " +
+            "r.id AS room_id, r.name AS room_name, u.id AS teacher_id, u.name AS teacher_name, " +
+            "u.email AS teacher_email, c.id AS course_id, c.name AS course_name, e.expected_participants " +
+            "FROM events e " +
+            "LEFT JOIN rooms r ON r.id = e.room_id " +
+            "LEFT JOIN users u ON u.id = e.teacher_id " +
+            "LEFT JOIN courses c ON c.id = e.course_id";
+
+    private static final String ANALYTICS_SQL =
+            "SELECT e.date, e.room_id, r.name AS room_name, r.capacity, e.start_time, e.end_time, e.course_id " +
+            "FROM events e " +
+            "LEFT JOIN rooms r ON r.id = e.room_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * One CSV line per event.
+     */
+    public void writeEventsCsv(ExportFilterRequest filter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id,date,start_time,end_time,type,status,title,room_id,room_name," +
+                "teacher_id,teacher_name,teacher_email,course_id,course_name,expected_participants\n");
+
+        List<Object> params = new ArrayList<>();
+        String sql = EVENTS_SQL + where(filter, params) + " ORDER BY e.date, e.start_time, e.id";
+
+        long rows = stream(sql, params, rs -> {
+            writeRow(writer,
+                    rs.getLong("id"),
+                    rs.getDate("date"),
+                    rs.getTime("start_time"),
+                    rs.getTime("end_time"),
+                    rs.getString("type"),
+                    rs.getString("status"),
+                    rs.getString("title"),
+                    rs.getObject("room_id"),
+                    rs.getString("room_name"),
+                    rs.getObject("teacher_id"),
+                    rs.getString("teacher_name"),
+                    rs.getString("teacher_email"),
+                    rs.getObject("course_id"),
+                    rs.getString("course_name"),
+                    rs.getObject("expected_participants"));
+        }, writer);
+
+        writer.flush();
+        log.info("📤 Exported {} events as CSV", rows);
+    }
+
+    /**
+     * One CSV line per (date, room): event count, course sessions and booked minutes.
+     * Rows arrive sorted by the group key, so only the current group is held in memory.
+     */
+    public void writeAnalyticsCsv(ExportFilterRequest filter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("date,room_id,room_name,room_capacity,events,course_events,booked_minutes\n");
+
+        List<Object> params = new ArrayList<>();
+        String sql = ANALYTICS_SQL + where(filter, params) + " ORDER BY e.date, e.room_id";
+
+        DailyRoomGroup group = new DailyRoomGroup();
+        long rows = stream(sql, params, rs -> {
+            Date date = rs.getDate("date");
+            Object roomId = rs.getObject("room_id");
+            if (!group.matches(date, roomId)) {
+                group.writeTo(writer);
+                group.reset(date, roomId, rs.getString("room_name"), rs.getObject("capacity"));
+            }
+            Time start = rs.getTime("start_time");
+            Time end = rs.getTime("end_time");
+            group.events++;
+            if (rs.getObject("course_id") != null) {
+                group.courseEvents++;
+            }
+            if (start != null && end != null) {
+                group.bookedMinutes += (end.toLocalTime().toSecondOfDay() - start.toLocalTime().toSecondOfDay()) / 60;
+            }
+        }, writer);
+        group.writeTo(writer);
+
+        writer.flush();
+        log.info("📤 Exported analytics for {} events as CSV", rows);
+    }
+
+    private String where(ExportFilterRequest filter, List<Object> params) {
+        List<String> clauses = new ArrayList<>();
+        if (filter.getFrom() != null) {
+            clauses.add("e.date >= ?");
+            params.add(Date.valueOf(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            clauses.add("e.date <= ?");
+            params.add(Date.valueOf(filter.getTo()));
+        }
+        if (filter.getRoomId() != null) {
+            clauses.add("e.room_id = ?");
+            params.add(filter.getRoomId());
+        }
+        if (filter.getTeacherId() != null) {
+            clauses.add("e.teacher_id = ?");
+            params.add(filter.getTeacherId());
+        }
+        if (filter.getCourseId() != null) {
+            clauses.add("e.course_id = ?");
+            params.add(filter.getCourseId());
+        }
+        return clauses.isEmpty() ? "" : " WHERE " + String.join(" AND ", clauses);
+    }
+
+    /**
+     * Run the query inside a read-only transaction (PostgreSQL only honours the fetch
+     * size with auto-commit off) and hand every row to the consumer.
+     */
+    private long stream(String sql, List<Object> params, RowConsumer consumer, Writer writer) {
+        PreparedStatementCreator statement = connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        };
+
+        long[] count = new long[1];
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(statement, (RowCallbackHandler) rs -> {
+            try {
+                consumer.accept(rs);
+                if (++count[0] % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+        return count[0];
+    }
+
+    private static void writeRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Quote a cell as RFC 4180 requires. Text (titles, descriptions, names are user input)
+     * that starts like a spreadsheet formula is prefixed with an apostrophe so it is shown as
+     * text instead of being evaluated; numbers and dates are written as they are.
+     */
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer {
+        void accept(ResultSet rs) throws SQLException, IOException;
+    }
+
+    private static final class DailyRoomGroup {
+        private boolean started;
+        private Date date;
+        private Object roomId;
+        private String roomName;
+        private Object capacity;
+        private long events;
+        private long courseEvents;
+        private long bookedMinutes;
+
+        private boolean matches(Date otherDate, Object otherRoomId) {
+            return started && date.equals(otherDate) && Objects.equals(roomId, otherRoomId);
+        }
+
+        private void reset(Date newDate, Object newRoomId, String newRoomName, Object newCapacity) {
+            started = true;
+            date = newDate;
+            roomId = newRoomId;
+            roomName = newRoomName;
+            capacity = newCapacity;
+            events = 0;
+            courseEvents = 0;
+            bookedMinutes = 0;
+        }
+
+        private void writeTo(Writer writer) throws IOException {
+            if (started) {
+                writeRow(writer, date, roomId, roomName, capacity, events, courseEvents, bookedMinutes);
+            }
+        }
+    }
+}
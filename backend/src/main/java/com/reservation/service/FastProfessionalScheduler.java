@@ -2,9 +2,8 @@ package com.reservation.service;
 
 import com.reservation.model.entity.*;
 import com.reservation.repository.*;
+import com.reservation.dto.mapper.ResponseMapper;
 import com.reservation.dto.response.EventResponse;
-import com.reservation.dto.response.UserResponse;
-import com.reservation.dto.response.RoomResponse;
 import com.reservation.model.enums.EventType;
 import com.reservation.model.enums.EventStatus;
 import com.reservation.model.enums.Role;
@@ -33,6 +32,7 @@ public class FastProfessionalScheduler {
     private final UserRepository userRepository;
     private final RoomRepository roomRepository;
     private final EventRepository eventRepository;
+    private final ResponseMapper responseMapper;
 
     // Simple and effective scheduling
     private static final int SESSION_DURATION_MINUTES = 90; // 1.5 hours
@@ -68,6 +68,7 @@ public class FastProfessionalScheduler {
             Map<String, Double> roomScoreCache = new HashMap<>();
 
             List<EventResponse> scheduledEvents = new ArrayList<>();
+            ResponseMapper.Session mapping = responseMapper.session();
             List<String> unscheduledCourses = new ArrayList<>();
 
             // 🎯 SMART SCHEDULING: Process courses with intelligent logic
@@ -92,7 +93,7 @@ public class FastProfessionalScheduler {
                             Event event = createEvent(course, teacher, room, slot);
                             Event savedEvent = eventRepository.save(event);
 
-                            scheduledEvents.add(createEventResponse(savedEvent));
+                            scheduledEvents.add(mapping.event(savedEvent));
                             usedSlots.add(slotKey);
                             dailyCourseCount.put(slot.getDay(), currentDayCount + 1);
                             scheduled = true;
@@ -467,28 +468,6 @@ public class FastProfessionalScheduler {
         return event;
     }
 
-    private EventResponse createEventResponse(Event event) {
-        return EventResponse.builder()
-            .id(event.getId())
-            .title(event.getTitle())
-            .description(event.getDescription())
-            .startTime(event.getStartTime())
-            .endTime(event.getEndTime())
-            .teacher(UserResponse.builder()
-                .id(event.getTeacher().getId())
-                .name(event.getTeacher().getName())
-                .email(event.getTeacher().getEmail())
-                .role(event.getTeacher().getRole())
-                .build())
-            .room(RoomResponse.builder()
-                .id(event.getRoom().getId())
-                .name(event.getRoom().getName())
-                .capacity(event.getRoom().getCapacity())
-                .location(event.getRoom().getLocation())
-                .build())
-            .build();
-    }
-
     private LocalDate getStartOfCurrentWeek() {
         return LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
     }
@@ -1,40 +1,107 @@
 package com.reservation.service;
 
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
 import com.google.api.services.calendar.Calendar;
 import com.google.api.client.util.DateTime;
 import com.google.api.services.calendar.model.Event;
 import com.google.api.services.calendar.model.EventDateTime;
 import com.google.api.services.calendar.model.EventAttendee;
+import com.google.api.services.calendar.model.Events;
 import com.reservation.config.GoogleCalendarConfig;
+import com.reservation.config.ThreadFactories;
+import com.reservation.model.entity.CalendarSyncState;
+import com.reservation.model.listener.CalendarLinkChange;
+import com.reservation.repository.CalendarSyncStateRepository;
 import com.reservation.repository.EventRepository;
-import com.reservation.repository.UserRepository;
+import lombok.Getter;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class GoogleCalendarService {
     
+    // Google recommends at most 50 calls per Calendar batch request
+    private static final int BATCH_SIZE = 50;
+    // Private extended property linking a Google event back to its reservation event
+    private static final String RESERVATION_EVENT_ID = "reservationEventId";
+    // Sync window: current week plus the next SYNC_WEEKS weeks
+    private static final int SYNC_WEEKS = 4;
+    // Rate-limited calls are retried this many times before they count as failed
+    private static final int MAX_THROTTLE_RETRIES = 5;
+    // Error reasons Google reports (with a 403) when a quota or per-user rate limit is exceeded
+    private static final Set<String> RATE_LIMIT_REASONS = Set.of("rateLimitExceeded", "userRateLimitExceeded");
+    
     private final GoogleCalendarConfig calendarConfig;
     private final EventRepository eventRepository;
-    private final UserRepository userRepository;
+    private final CalendarAttendeeResolver attendeeResolver;
+    private final JdbcTemplate jdbcTemplate;
+    private final CalendarSyncStateRepository syncStateRepository;
+    private final CalendarRateLimiter rateLimiter;
+    private final WeeklyScheduleViewCache weeklyScheduleViewCache;
+    private final ApplicationEventPublisher eventPublisher;
+    // Outbox pushes share the read side; a full sync takes the write side so the two never
+    // insert the same event concurrently
+    private final ReadWriteLock calendarLock = new ReentrantReadWriteLock();
+    // Runs the batches of one push concurrently; the rate limiter keeps them within quota
+    private final ExecutorService syncExecutor;
+    private final int syncParallelism;
+    private final AtomicLong eventsPushed = new AtomicLong();
+    private volatile Map<String, Object> lastFullSync = Map.of();
     private Calendar googleCalendar;
 
     @Autowired
     public GoogleCalendarService(GoogleCalendarConfig calendarConfig, 
                                 EventRepository eventRepository,
-                                UserRepository userRepository) {
+                                CalendarAttendeeResolver attendeeResolver,
+                                JdbcTemplate jdbcTemplate,
+                                CalendarSyncStateRepository syncStateRepository,
+                                CalendarRateLimiter rateLimiter,
+                                WeeklyScheduleViewCache weeklyScheduleViewCache,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${google.calendar.sync.parallelism:4}") int syncParallelism,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
         this.calendarConfig = calendarConfig;
         this.eventRepository = eventRepository;
-        this.userRepository = userRepository;
+        this.attendeeResolver = attendeeResolver;
+        this.jdbcTemplate = jdbcTemplate;
+        this.syncStateRepository = syncStateRepository;
+        this.rateLimiter = rateLimiter;
+        this.weeklyScheduleViewCache = weeklyScheduleViewCache;
+        this.eventPublisher = eventPublisher;
+        this.syncParallelism = Math.max(1, syncParallelism);
+        this.syncExecutor = Executors.newFixedThreadPool(this.syncParallelism,
+                ThreadFactories.io("calendar-sync", virtualThreads));
         
         log.info("📅 GoogleCalendarService initialized - Enabled: {}", calendarConfig.isGoogleCalendarEnabled());
     }
@@ -44,112 +111,570 @@ public class GoogleCalendarService {
         this.googleCalendar = googleCalendar;
     }
 
+    @PreDestroy
+    void shutdown() {
+        syncExecutor.shutdownNow();
+    }
+
+    public boolean isAvailable() {
+        return calendarConfig.isGoogleCalendarEnabled() && googleCalendar != null;
+    }
+
+    /**
+     * Whether events on this date are kept in Google Calendar by the sync.
+     */
+    public static boolean isInSyncWindow(LocalDate date) {
+        LocalDate startDate = LocalDate.now().with(DayOfWeek.MONDAY);
+        return date != null && !date.isBefore(startDate) && !date.isAfter(startDate.plusWeeks(SYNC_WEEKS));
+    }
+
     /**
-     * Sync admin schedule to Google Calendar with student email associations
+     * Incrementally sync the admin schedule (current week + next 4 weeks) to Google Calendar.
+     * Google-side edits are pulled first with the stored sync token; then only the delta is
+     * pushed: inserts for events never synced and patches for events whose content hash
+     * changed. All calls go out in batches. Local deletions reach Google through the
+     * calendar outbox, not through this full sync.
      */
     public Map<String, Object> syncAdminScheduleToGoogleCalendar(String adminCalendarId) {
-        if (!calendarConfig.isGoogleCalendarEnabled() || googleCalendar == null) {
+        if (!isAvailable()) {
             log.warn("📅 Google Calendar integration is disabled");
             return Map.of("success", false, "message", "Google Calendar integration is disabled");
         }
 
+        calendarLock.writeLock().lock();
         try {
-            // Get all events from admin system (current week + next 4 weeks)
+            long start = System.currentTimeMillis();
+            int driftedEvents = pullGoogleChanges(adminCalendarId);
+            
             LocalDate startDate = LocalDate.now().with(DayOfWeek.MONDAY);
-            LocalDate endDate = startDate.plusWeeks(4);
+            LocalDate endDate = startDate.plusWeeks(SYNC_WEEKS);
+            List<com.reservation.model.entity.Event> adminEvents = eventRepository.findForCalendarSync(startDate, endDate);
             
-            List<com.reservation.model.entity.Event> adminEvents = eventRepository.findByDateBetween(startDate, endDate);
+            List<PendingPush> inserts = new ArrayList<>();
+            List<PendingPush> patches = new ArrayList<>();
+            classify(adminEvents, inserts, patches);
             
-            int syncedCount = 0;
-            int errorCount = 0;
+            SyncOutcome outcome = new SyncOutcome();
+            pushInserts(adminCalendarId, inserts, outcome);
+            pushPatches(adminCalendarId, patches, outcome);
             
-            for (com.reservation.model.entity.Event adminEvent : adminEvents) {
-                try {
-                    // Debug logging
-                    log.info("🔍 Processing event: ID={}, Title='{}', Course={}, Type={}, Date={}, StartTime={}, EndTime={}", 
-                        adminEvent.getId(),
-                        adminEvent.getTitle(),
-                        adminEvent.getCourse() != null ? adminEvent.getCourse().getName() : "null",
-                        adminEvent.getType(),
-                        adminEvent.getDate(),
-                        adminEvent.getStartTime(),
-                        adminEvent.getEndTime()
-                    );
-                    
-                    // Only sync events that don't already have Google Calendar ID
-                    if (adminEvent.getGoogleEventId() == null || adminEvent.getGoogleEventId().isEmpty()) {
-                        String googleEventId = createGoogleCalendarEvent(adminEvent, adminCalendarId);
-                        if (googleEventId != null) {
-                            // Update the admin event with Google Calendar ID
-                            adminEvent.setGoogleEventId(googleEventId);
-                            eventRepository.save(adminEvent);
-                            syncedCount++;
-                            log.info("📅 ✅ Synced event: {} -> Google ID: {}", adminEvent.getTitle(), googleEventId);
-                        } else {
-                            errorCount++;
-                        }
-                    }
-                } catch (Exception e) {
-                    log.error("❌ Failed to sync event {}: {}", adminEvent.getId(), e.getMessage());
-                    errorCount++;
-                }
-            }
+            int unchanged = adminEvents.size() - inserts.size() - patches.size();
+            long elapsedMs = Math.max(1, System.currentTimeMillis() - start);
+            double eventsPerSecond = Math.round((outcome.created + outcome.updated) * 100000.0 / elapsedMs) / 100.0;
+            log.info("📅 ✅ Calendar sync: {} created, {} updated, {} unchanged, {} drifted, {} errors in {}ms ({} events/s)",
+                outcome.created, outcome.updated, unchanged, driftedEvents, outcome.errors, elapsedMs, eventsPerSecond);
+            
+            Map<String, Object> run = new LinkedHashMap<>();
+            run.put("calendarId", adminCalendarId);
+            run.put("finishedAt", LocalDateTime.now().toString());
+            run.put("syncedEvents", outcome.created + outcome.updated);
+            run.put("durationMs", elapsedMs);
+            run.put("eventsPerSecond", eventsPerSecond);
+            lastFullSync = run;
             
-            return Map.of(
-                "success", true,
-                "totalEvents", adminEvents.size(),
-                "syncedEvents", syncedCount,
-                "errorCount", errorCount,
-                "message", String.format("Synced %d events to Google Calendar", syncedCount)
-            );
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("totalEvents", adminEvents.size());
+            result.put("syncedEvents", outcome.created + outcome.updated);
+            result.put("createdEvents", outcome.created);
+            result.put("updatedEvents", outcome.updated);
+            result.put("unchangedEvents", unchanged);
+            result.put("driftedEvents", driftedEvents);
+            result.put("errorCount", outcome.errors);
+            result.put("eventsPerSecond", eventsPerSecond);
+            result.put("message", String.format("Synced %d events to Google Calendar (%d created, %d updated)",
+                outcome.created + outcome.updated, outcome.created, outcome.updated));
+            return result;
             
         } catch (Exception e) {
             log.error("❌ Error syncing admin schedule to Google Calendar: {}", e.getMessage(), e);
             return Map.of("success", false, "message", "Error syncing to Google Calendar: " + e.getMessage());
+        } finally {
+            calendarLock.writeLock().unlock();
         }
     }
 
     /**
-     * Create Google Calendar event with student attendees
+     * Push individual changes from the calendar outbox: the given events are inserted or
+     * patched (or skipped when their content hash is unchanged; events deleted meanwhile are
+     * skipped too) and the given Google events are deleted. Per-item failures are reported
+     * in the result; a failure of the whole request is thrown.
      */
-    private String createGoogleCalendarEvent(com.reservation.model.entity.Event adminEvent, String calendarId) {
+    public PushResult pushChanges(String calendarId, Collection<Long> eventIds, Collection<String> deletedGoogleEventIds)
+            throws IOException {
+        if (!isAvailable()) {
+            throw new IllegalStateException("Google Calendar integration is disabled");
+        }
+
+        calendarLock.readLock().lock();
         try {
-            // Build a better event title
-            String eventTitle = buildEventTitle(adminEvent);
+            List<PendingPush> inserts = new ArrayList<>();
+            List<PendingPush> patches = new ArrayList<>();
+            int found = 0;
+            if (!eventIds.isEmpty()) {
+                List<com.reservation.model.entity.Event> events = eventRepository.findForCalendarSyncByIds(eventIds);
+                found = events.size();
+                classify(events, inserts, patches);
+            }
             
-            Event googleEvent = new Event()
-                .setSummary(eventTitle)
-                .setDescription(buildEventDescription(adminEvent));
-
-            // Set start time
-            EventDateTime start = new EventDateTime()
-                .setDateTime(new DateTime(
-                    adminEvent.getStartTime().atDate(adminEvent.getDate()).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
-                ))
-                .setTimeZone(ZoneId.systemDefault().getId());
-            googleEvent.setStart(start);
-
-            // Set end time
-            EventDateTime end = new EventDateTime()
-                .setDateTime(new DateTime(
-                    adminEvent.getEndTime().atDate(adminEvent.getDate()).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
-                ))
-                .setTimeZone(ZoneId.systemDefault().getId());
-            googleEvent.setEnd(end);
-
-            // Set location
-            if (adminEvent.getRoom() != null) {
-                googleEvent.setLocation(adminEvent.getRoom().getName());
+            SyncOutcome outcome = new SyncOutcome();
+            pushInserts(calendarId, inserts, outcome);
+            pushPatches(calendarId, patches, outcome);
+            pushDeletions(calendarId, new ArrayList<>(deletedGoogleEventIds), outcome);
+            return new PushResult(outcome, found - inserts.size() - patches.size());
+        } finally {
+            calendarLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Throughput and rate-limit figures: the last full sync, the total number of calls that
+     * changed something in Google (full syncs and outbox pushes) and each calendar's current
+     * call rate.
+     */
+    public Map<String, Object> getSyncMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("lastFullSync", lastFullSync);
+        metrics.put("eventsPushed", eventsPushed.get());
+        metrics.put("parallelism", syncParallelism);
+        metrics.put("rateLimits", rateLimiter.getStats());
+        return metrics;
+    }
+
+    private void classify(List<com.reservation.model.entity.Event> adminEvents,
+                          List<PendingPush> inserts, List<PendingPush> patches) {
+        for (com.reservation.model.entity.Event adminEvent : adminEvents) {
+            Event googleEvent = toGoogleEvent(adminEvent);
+            String hash = contentHash(googleEvent);
+            if (adminEvent.getGoogleEventId() == null || adminEvent.getGoogleEventId().isEmpty()) {
+                inserts.add(new PendingPush(adminEvent, googleEvent, hash));
+            } else if (!hash.equals(adminEvent.getCalendarSyncHash())) {
+                patches.add(new PendingPush(adminEvent, googleEvent, hash));
+            }
+        }
+    }
+
+    /**
+     * Pull what changed on the Google side since the last sync token. Events we created that
+     * were edited in Google after our last push (their etag differs from the one that push
+     * got back) get their hash cleared (so the push below
+     * restores them); events deleted in Google lose their Google id (so they are re-created).
+     * Returns the number of local events marked this way.
+     */
+    private int pullGoogleChanges(String calendarId) throws IOException {
+        String syncToken = syncStateRepository.findById(calendarId).map(CalendarSyncState::getSyncToken).orElse(null);
+        Map<Long, Event> changedByEventId = new HashMap<>();
+        String pageToken = null;
+        String nextSyncToken;
+        while (true) {
+            Calendar.Events.List request = googleCalendar.events().list(calendarId)
+                .setShowDeleted(true)
+                .setMaxResults(2500)
+                .setPageToken(pageToken);
+            if (syncToken != null) {
+                request.setSyncToken(syncToken);
+            }
+            Events page;
+            try {
+                page = request.execute();
+            } catch (GoogleJsonResponseException e) {
+                if (e.getStatusCode() == 410 && syncToken != null) {
+                    log.warn("📅 Sync token for {} expired, doing a full inbound scan", calendarId);
+                    syncToken = null;
+                    pageToken = null;
+                    changedByEventId.clear();
+                    continue;
+                }
+                throw e;
+            }
+            if (page.getItems() != null) {
+                for (Event item : page.getItems()) {
+                    Long eventId = reservationEventId(item);
+                    if (eventId != null) {
+                        changedByEventId.put(eventId, item);
+                    }
+                }
+            }
+            pageToken = page.getNextPageToken();
+            if (pageToken == null) {
+                nextSyncToken = page.getNextSyncToken();
+                break;
+            }
+        }
+        
+        List<Object[]> dirty = new ArrayList<>();
+        List<Object[]> lost = new ArrayList<>();
+        Map<Long, LocalDate> unlinked = new HashMap<>();
+        if (!changedByEventId.isEmpty()) {
+            for (com.reservation.model.entity.Event local : eventRepository.findAllById(changedByEventId.keySet())) {
+                Event remote = changedByEventId.get(local.getId());
+                if (!remote.getId().equals(local.getGoogleEventId())) {
+                    continue;
+                }
+                if ("cancelled".equals(remote.getStatus())) {
+                    lost.add(new Object[]{local.getId()});
+                    unlinked.put(local.getId(), local.getDate());
+                } else if (remote.getEtag() != null && !remote.getEtag().equals(local.getGoogleEtag())) {
+                    // Compared with Google's own etag from our last write, not our clock
+                    dirty.add(new Object[]{local.getId()});
+                }
+            }
+        }
+        if (!dirty.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE events SET calendar_sync_hash = NULL WHERE id = ?", dirty);
+        }
+        if (!lost.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE events SET google_event_id = NULL, calendar_sync_hash = NULL WHERE id = ?", lost);
+            eventPublisher.publishEvent(new CalendarLinkChange(unlinked));
+        }
+        
+        syncStateRepository.save(CalendarSyncState.builder()
+            .calendarId(calendarId)
+            .syncToken(nextSyncToken)
+            .updatedAt(LocalDateTime.now())
+            .build());
+        return dirty.size() + lost.size();
+    }
+
+    private void pushInserts(String calendarId, List<PendingPush> inserts, SyncOutcome outcome) throws IOException {
+        runInBatches(calendarId, inserts, outcome, (push, batch, chunk) -> googleCalendar.events().insert(calendarId, push.googleEvent)
+            .queue(batch, new JsonBatchCallback<Event>() {
+                @Override
+                public void onSuccess(Event created, HttpHeaders responseHeaders) {
+                    chunk.synced.add(new Object[]{created.getId(), push.hash, created.getEtag(), push.adminEvent.getId()});
+                    chunk.relinked.put(push.adminEvent.getId(), push.adminEvent.getDate());
+                    chunk.created++;
+                }
+                
+                @Override
+                public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                    if (chunk.retryIfThrottled(push, error)) {
+                        return;
+                    }
+                    log.error("❌ Failed to create event {}: {} {}", push.adminEvent.getId(), error.getCode(), error.getMessage());
+                    chunk.failedEvents.put(push.adminEvent.getId(), error.getCode() + " " + error.getMessage());
+                    chunk.errors++;
+                }
+            }));
+    }
+
+    private void pushPatches(String calendarId, List<PendingPush> patches, SyncOutcome outcome) throws IOException {
+        runInBatches(calendarId, patches, outcome, (push, batch, chunk) -> googleCalendar.events()
+            .patch(calendarId, push.adminEvent.getGoogleEventId(), push.googleEvent)
+            .queue(batch, new JsonBatchCallback<Event>() {
+                @Override
+                public void onSuccess(Event patched, HttpHeaders responseHeaders) {
+                    chunk.synced.add(new Object[]{patched.getId(), push.hash, patched.getEtag(), push.adminEvent.getId()});
+                    if (!patched.getId().equals(push.adminEvent.getGoogleEventId())) {
+                        chunk.relinked.put(push.adminEvent.getId(), push.adminEvent.getDate());
+                    }
+                    chunk.updated++;
+                }
+                
+                @Override
+                public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                    if (chunk.retryIfThrottled(push, error)) {
+                        return;
+                    }
+                    if (error.getCode() == 404 || error.getCode() == 410) {
+                        // Gone on the Google side: forget the id so the next push re-creates it
+                        chunk.lost.add(new Object[]{push.adminEvent.getId()});
+                        chunk.relinked.put(push.adminEvent.getId(), push.adminEvent.getDate());
+                    } else {
+                        log.error("❌ Failed to update event {}: {} {}", push.adminEvent.getId(), error.getCode(), error.getMessage());
+                    }
+                    chunk.failedEvents.put(push.adminEvent.getId(), error.getCode() + " " + error.getMessage());
+                    chunk.errors++;
+                }
+            }));
+    }
+
+    private void pushDeletions(String calendarId, List<String> googleEventIds, SyncOutcome outcome) throws IOException {
+        runInBatches(calendarId, googleEventIds, outcome, (googleEventId, batch, chunk) -> googleCalendar.events()
+            .delete(calendarId, googleEventId)
+            .queue(batch, new JsonBatchCallback<Void>() {
+                @Override
+                public void onSuccess(Void ignored, HttpHeaders responseHeaders) {
+                    chunk.deleted++;
+                }
+                
+                @Override
+                public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                    if (chunk.retryIfThrottled(googleEventId, error)) {
+                        return;
+                    }
+                    // Already gone on the Google side counts as done
+                    if (error.getCode() != 404 && error.getCode() != 410) {
+                        log.error("❌ Failed to delete Google event {}: {} {}", googleEventId, error.getCode(), error.getMessage());
+                        chunk.failedDeletions.put(googleEventId, error.getCode() + " " + error.getMessage());
+                        chunk.errors++;
+                    }
+                }
+            }));
+    }
+
+    /**
+     * Split the items into Calendar batch requests of at most {@link #BATCH_SIZE} calls and
+     * run them concurrently on the sync executor. Each batch waits for the calendar's rate
+     * limiter and writes its results back as soon as it completes, so a failure halfway never
+     * forgets events that were already created. If any batch failed as a whole, the first
+     * failure is thrown after all batches have finished.
+     */
+    private <T> void runInBatches(String calendarId, List<T> items, SyncOutcome outcome, BatchQueuer<T> queuer)
+            throws IOException {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += BATCH_SIZE) {
+            chunks.add(items.subList(from, Math.min(from + BATCH_SIZE, items.size())));
+        }
+        if (chunks.size() <= 1 || syncParallelism == 1) {
+            for (List<T> chunk : chunks) {
+                runBatch(calendarId, chunk, outcome, queuer);
+            }
+            return;
+        }
+        
+        List<Future<?>> futures = new ArrayList<>();
+        for (List<T> chunk : chunks) {
+            futures.add(syncExecutor.submit(() -> {
+                runBatch(calendarId, chunk, outcome, queuer);
+                return null;
+            }));
+        }
+        IOException failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                futures.forEach(f -> f.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while pushing to Google Calendar");
+            } catch (ExecutionException e) {
+                IOException cause = e.getCause() instanceof IOException
+                    ? (IOException) e.getCause()
+                    : new IOException(e.getCause().getMessage(), e.getCause());
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Execute one batch, retrying calls that Google rejected for exceeding the rate limit
+     * (after the limiter has backed off) until they succeed or run out of retries.
+     */
+    private <T> void runBatch(String calendarId, List<T> chunk, SyncOutcome total, BatchQueuer<T> queuer)
+            throws IOException {
+        List<T> pending = chunk;
+        for (int attempt = 0; !pending.isEmpty(); attempt++) {
+            SyncOutcome outcome = new SyncOutcome(attempt < MAX_THROTTLE_RETRIES);
+            BatchRequest batch = googleCalendar.batch();
+            for (T item : pending) {
+                queuer.queue(item, batch, outcome);
+            }
+            try {
+                rateLimiter.acquire(calendarId, pending.size());
+                batch.execute();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the Calendar API rate limit");
+            } catch (HttpResponseException e) {
+                if (attempt < MAX_THROTTLE_RETRIES && isRateLimited(e.getStatusCode(), errorInfos(e))) {
+                    log.warn("📅 Calendar batch rate limited ({}), backing off", e.getStatusCode());
+                    rateLimiter.onThrottled(calendarId);
+                    continue;
+                }
+                throw e;
+            }
+            saveSyncResults(outcome);
+            
+            @SuppressWarnings("unchecked")
+            List<T> throttled = (List<T>) outcome.throttled;
+            if (throttled.isEmpty()) {
+                rateLimiter.onSuccess(calendarId);
+            } else {
+                log.warn("📅 {} calendar calls rate limited, retrying after backoff", throttled.size());
+                rateLimiter.onThrottled(calendarId);
+            }
+            total.merge(outcome);
+            eventsPushed.addAndGet(outcome.created + outcome.updated + outcome.deleted);
+            pending = throttled;
+        }
+    }
+
+    private static boolean isRateLimited(int statusCode, List<GoogleJsonError.ErrorInfo> errors) {
+        return statusCode == 429
+            || (statusCode == 403 && errors != null
+                && errors.stream().anyMatch(info -> RATE_LIMIT_REASONS.contains(info.getReason())));
+    }
+
+    private static List<GoogleJsonError.ErrorInfo> errorInfos(HttpResponseException e) {
+        return e instanceof GoogleJsonResponseException && ((GoogleJsonResponseException) e).getDetails() != null
+            ? ((GoogleJsonResponseException) e).getDetails().getErrors()
+            : null;
+    }
+
+    /**
+     * Write back Google ids, content hashes, etags and sync times with JDBC batches instead of a
+     * save() per event, then clear the written rows from the outcome. The writes bypass the
+     * entity listeners, so events whose Google id changed are announced separately.
+     */
+    private void saveSyncResults(SyncOutcome outcome) {
+        if (!outcome.synced.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> rows = outcome.synced.stream()
+                .map(row -> new Object[]{row[0], row[1], row[2], now, row[3]})
+                .collect(Collectors.toList());
+            jdbcTemplate.batchUpdate(
+                "UPDATE events SET google_event_id = ?, calendar_sync_hash = ?, google_etag = ?, last_synced_at = ? WHERE id = ?", rows);
+            outcome.synced.clear();
+        }
+        if (!outcome.lost.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE events SET google_event_id = NULL, calendar_sync_hash = NULL WHERE id = ?", outcome.lost);
+            outcome.lost.clear();
+        }
+        if (!outcome.relinked.isEmpty()) {
+            eventPublisher.publishEvent(new CalendarLinkChange(new HashMap<>(outcome.relinked)));
+            outcome.relinked.clear();
+        }
+    }
+
+    /**
+     * SHA-256 over every field we send to Google, so any change to title, time, room,
+     * description or attendees shows up as a different hash.
+     */
+    private static String contentHash(Event googleEvent) {
+        StringBuilder content = new StringBuilder()
+            .append(googleEvent.getSummary()).append('\u0000')
+            .append(googleEvent.getDescription()).append('\u0000')
+            .append(googleEvent.getStart().getDateTime().getValue()).append('\u0000')
+            .append(googleEvent.getEnd().getDateTime().getValue()).append('\u0000')
+            .append(googleEvent.getLocation()).append('\u0000');
+        if (googleEvent.getAttendees() != null) {
+            for (EventAttendee attendee : googleEvent.getAttendees()) {
+                content.append(attendee.getEmail()).append(',');
             }
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Long reservationEventId(Event googleEvent) {
+        if (googleEvent.getExtendedProperties() == null || googleEvent.getExtendedProperties().getPrivate() == null) {
+            return null;
+        }
+        String id = googleEvent.getExtendedProperties().getPrivate().get(RESERVATION_EVENT_ID);
+        try {
+            return id != null ? Long.valueOf(id) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface BatchQueuer<T> {
+        void queue(T item, BatchRequest batch, SyncOutcome outcome) throws IOException;
+    }
+
+    private static final class PendingPush {
+        private final com.reservation.model.entity.Event adminEvent;
+        private final Event googleEvent;
+        private final String hash;
+
+        private PendingPush(com.reservation.model.entity.Event adminEvent, Event googleEvent, String hash) {
+            this.adminEvent = adminEvent;
+            this.googleEvent = googleEvent;
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * Results of one batch, or the merged results of a whole push. Batch callbacks run on the
+     * thread executing that batch and only touch its own outcome; batches then merge into the
+     * push total under its lock.
+     */
+    private static final class SyncOutcome {
+        // {googleEventId, hash, etag, eventId}, written back after every batch
+        private final List<Object[]> synced = new ArrayList<>();
+        // {eventId}, written back after every batch
+        private final List<Object[]> lost = new ArrayList<>();
+        // Event id -> date of the events whose Google id the write-back sets or clears
+        private final Map<Long, LocalDate> relinked = new HashMap<>();
+        private final Map<Long, String> failedEvents = new HashMap<>();
+        private final Map<String, String> failedDeletions = new HashMap<>();
+        // Items rejected by the rate limit, to be queued again
+        private final List<Object> throttled = new ArrayList<>();
+        private final boolean retryThrottled;
+        private int created;
+        private int updated;
+        private int deleted;
+        private int errors;
+
+        private SyncOutcome() {
+            this(false);
+        }
+
+        private SyncOutcome(boolean retryThrottled) {
+            this.retryThrottled = retryThrottled;
+        }
 
-            // Add attendees (students associated with the course)
-            List<EventAttendee> attendees = getEventAttendees(adminEvent);
-            if (!attendees.isEmpty()) {
-                googleEvent.setAttendees(attendees);
+        private boolean retryIfThrottled(Object item, GoogleJsonError error) {
+            if (retryThrottled && isRateLimited(error.getCode(), error.getErrors())) {
+                throttled.add(item);
+                return true;
             }
+            return false;
+        }
+
+        private synchronized void merge(SyncOutcome batch) {
+            failedEvents.putAll(batch.failedEvents);
+            failedDeletions.putAll(batch.failedDeletions);
+            created += batch.created;
+            updated += batch.updated;
+            deleted += batch.deleted;
+            errors += batch.errors;
+        }
+    }
+
+    /**
+     * Outcome of {@link #pushChanges}: counters plus the error message of every event and
+     * Google event deletion that failed.
+     */
+    @Getter
+    public static final class PushResult {
+        private final int created;
+        private final int updated;
+        private final int unchanged;
+        private final int deleted;
+        private final Map<Long, String> failedEvents;
+        private final Map<String, String> failedDeletions;
+
+        private PushResult(SyncOutcome outcome, int unchanged) {
+            this.created = outcome.created;
+            this.updated = outcome.updated;
+            this.unchanged = unchanged;
+            this.deleted = outcome.deleted;
+            this.failedEvents = outcome.failedEvents;
+            this.failedDeletions = outcome.failedDeletions;
+        }
+    }
 
+    /**
+     * Create Google Calendar event with student attendees
+     */
+    private String createGoogleCalendarEvent(com.reservation.model.entity.Event adminEvent, String calendarId) {
+        try {
             // Create the event in Google Calendar
-            Event createdEvent = googleCalendar.events().insert(calendarId, googleEvent).execute();
+            Event createdEvent = googleCalendar.events().insert(calendarId, toGoogleEvent(adminEvent)).execute();
             log.info("📅 ✅ Created Google Calendar event: {}", createdEvent.getId());
             
             return createdEvent.getId();
@@ -160,6 +685,50 @@ public class GoogleCalendarService {
         }
     }
 
+    /**
+     * Map a reservation event to its Google Calendar representation
+     */
+    private Event toGoogleEvent(com.reservation.model.entity.Event adminEvent) {
+        // Build a better event title
+        String eventTitle = buildEventTitle(adminEvent);
+        
+        Event googleEvent = new Event()
+            .setSummary(eventTitle)
+            .setDescription(buildEventDescription(adminEvent));
+
+        // Set start time
+        EventDateTime start = new EventDateTime()
+            .setDateTime(new DateTime(
+                adminEvent.getStartTime().atDate(adminEvent.getDate()).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+            ))
+            .setTimeZone(ZoneId.systemDefault().getId());
+        googleEvent.setStart(start);
+
+        // Set end time
+        EventDateTime end = new EventDateTime()
+            .setDateTime(new DateTime(
+                adminEvent.getEndTime().atDate(adminEvent.getDate()).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+            ))
+            .setTimeZone(ZoneId.systemDefault().getId());
+        googleEvent.setEnd(end);
+
+        googleEvent.setExtendedProperties(new Event.ExtendedProperties()
+            .setPrivate(Map.of(RESERVATION_EVENT_ID, String.valueOf(adminEvent.getId()))));
+
+        // Set location
+        if (adminEvent.getRoom() != null) {
+            googleEvent.setLocation(adminEvent.getRoom().getName());
+        }
+
+        // Add attendees (students associated with the course)
+        List<EventAttendee> attendees = attendeeResolver.attendeesFor(adminEvent);
+        if (!attendees.isEmpty()) {
+            googleEvent.setAttendees(attendees);
+        }
+
+        return googleEvent;
+    }
+
     /**
      * Build a proper event title based on available information
      */
@@ -238,67 +807,20 @@ public class GoogleCalendarService {
     }
 
     /**
-     * Get list of student attendees for the event
-     */
-    private List<EventAttendee> getEventAttendees(com.reservation.model.entity.Event adminEvent) {
-        List<EventAttendee> attendees = new ArrayList<>();
-        
-        // Add the teacher/professor as an attendee
-        if (adminEvent.getTeacher() != null && adminEvent.getTeacher().getEmail() != null) {
-            EventAttendee teacherAttendee = new EventAttendee()
-                .setEmail(adminEvent.getTeacher().getEmail())
-                .setDisplayName(adminEvent.getTeacher().getName())
-                .setOrganizer(true);
-            attendees.add(teacherAttendee);
-        }
-        
-        // TODO: Add students based on course enrollment
-        // For now, we can add all users with STUDENT role as a demo
-        try {
-            List<com.reservation.model.entity.User> students = userRepository.findByRole(
-                com.reservation.model.enums.Role.STUDENT
-            );
-            
-            for (com.reservation.model.entity.User student : students) {
-                if (student.getEmail() != null && !student.getEmail().isEmpty()) {
-                    EventAttendee studentAttendee = new EventAttendee()
-                        .setEmail(student.getEmail())
-                        .setDisplayName(student.getName())
-                        .setOptional(false);
-                    attendees.add(studentAttendee);
-                    
-                    // Limit to reasonable number of attendees
-                    if (attendees.size() >= 50) break;
-                }
-            }
-            
-        } catch (Exception e) {
-            log.warn("⚠️  Could not fetch students for event attendees: {}", e.getMessage());
-        }
-        
-        return attendees;
-    }
-
-    /**
-     * Clear existing Google Calendar sync data and force re-sync
+     * Force every event in the sync window to be pushed again. Only the content hashes and
+     * the inbound sync token are reset, so existing Google events are patched in place
+     * instead of being re-created as duplicates.
      */
     public Map<String, Object> clearAndResyncCalendar(String adminCalendarId) {
         log.info("🔄 Clearing existing Google Calendar sync data and re-syncing...");
         
         try {
-            // Clear Google Event IDs from all events to force re-sync
             LocalDate startDate = LocalDate.now().with(DayOfWeek.MONDAY);
-            LocalDate endDate = startDate.plusWeeks(4);
-            List<com.reservation.model.entity.Event> events = eventRepository.findByDateBetween(startDate, endDate);
-            
-            int clearedCount = 0;
-            for (com.reservation.model.entity.Event event : events) {
-                if (event.getGoogleEventId() != null && !event.getGoogleEventId().isEmpty()) {
-                    event.setGoogleEventId(null);
-                    eventRepository.save(event);
-                    clearedCount++;
-                }
-            }
+            LocalDate endDate = startDate.plusWeeks(SYNC_WEEKS);
+            int clearedCount = jdbcTemplate.update(
+                "UPDATE events SET calendar_sync_hash = NULL WHERE date BETWEEN ? AND ? AND calendar_sync_hash IS NOT NULL",
+                startDate, endDate);
+            syncStateRepository.deleteById(adminCalendarId);
             
             log.info("🧹 Cleared {} existing Google Calendar sync records", clearedCount);
             
@@ -321,45 +843,15 @@ public class GoogleCalendarService {
     /**
      * Get weekly schedule for professor
      */
-    public Map<String, Object> getProfessorWeeklySchedule(String email) {
-        log.info("📅 Getting weekly schedule for professor: {}", email);
-        
-        LocalDate startOfWeek = LocalDate.now().with(DayOfWeek.MONDAY);
-        LocalDate endOfWeek = startOfWeek.plusDays(6);
-        
-        List<com.reservation.model.entity.Event> events = eventRepository.findByProfessorEmailAndDateBetween(email, startOfWeek, endOfWeek);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("professor", email);
-        response.put("weekStart", startOfWeek);
-        response.put("weekEnd", endOfWeek);
-        response.put("events", events.stream().map(this::eventToMap).collect(Collectors.toList()));
-        response.put("googleCalendarEnabled", calendarConfig.isGoogleCalendarEnabled());
-        
-        log.info("📅 ✅ Found {} events for professor {} this week", events.size(), email);
-        return response;
+    public Map<String, Object> getProfessorWeeklySchedule(String email, boolean compact) {
+        return weeklyScheduleViewCache.getProfessorWeek(email, compact);
     }
 
     /**
      * Get weekly schedule for student
      */
-    public Map<String, Object> getStudentWeeklySchedule(String email) {
-        log.info("📅 Getting weekly schedule for student: {}", email);
-        
-        LocalDate startOfWeek = LocalDate.now().with(DayOfWeek.MONDAY);
-        LocalDate endOfWeek = startOfWeek.plusDays(6);
-        
-        List<com.reservation.model.entity.Event> events = eventRepository.findByStudentEmailAndDateBetween(startOfWeek, endOfWeek);
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("student", email);
-        response.put("weekStart", startOfWeek);
-        response.put("weekEnd", endOfWeek);
-        response.put("events", events.stream().map(this::eventToMap).collect(Collectors.toList()));
-        response.put("googleCalendarEnabled", calendarConfig.isGoogleCalendarEnabled());
-        
-        log.info("📅 ✅ Found {} events for student {} this week", events.size(), email);
-        return response;
+    public Map<String, Object> getStudentWeeklySchedule(String email, boolean compact) {
+        return weeklyScheduleViewCache.getStudentWeek(email, compact);
     }
 
     /**
@@ -376,29 +868,4 @@ public class GoogleCalendarService {
         // For now, redirect to the admin sync functionality
         return syncAdminScheduleToGoogleCalendar(calendarId);
     }
-
-    private Map<String, Object> eventToMap(com.reservation.model.entity.Event event) {
-        Map<String, Object> eventMap = new HashMap<>();
-        eventMap.put("id", event.getId());
-        eventMap.put("title", event.getTitle());
-        eventMap.put("date", event.getDate());
-        eventMap.put("startTime", event.getStartTime());
-        eventMap.put("endTime", event.getEndTime());
-        eventMap.put("description", event.getDescription());
-        eventMap.put("googleEventId", event.getGoogleEventId());
-        
-        if (event.getRoom() != null) {
-            eventMap.put("room", event.getRoom().getName());
-            eventMap.put("location", event.getRoom().getName());
-        }
-        if (event.getCourse() != null) {
-            eventMap.put("course", event.getCourse().getName());
-        }
-        if (event.getTeacher() != null) {
-            eventMap.put("professor", event.getTeacher().getEmail());
-            eventMap.put("teacher", event.getTeacher().getEmail());
-        }
-        
-        return eventMap;
-    }
 }
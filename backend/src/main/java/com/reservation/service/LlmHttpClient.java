@@ -0,0 +1,265 @@
+package com.reservation.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reservation.config.ThreadFactories;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Shared HTTP client for LLM backends (Ollama, OpenAI). Built on the JDK {@link HttpClient},
+ * which pools connections and performs I/O asynchronously, so a slow model never pins a
+ * Tomcat thread beyond the configured timeouts. A semaphore bulkhead caps in-flight
+ * generations; when it is full, calls fail immediately with {@link LlmSaturatedException}
+ * so the caller can answer from its rule-based fallback instead of queueing.
+ *
+ * Streamed lines are handed to their callback on a separate delivery pool, never on the
+ * HTTP client's own threads: a callback that writes to a slow client then stalls only its
+ * own stream, not the responses of every other generation.
+ */
+@Slf4j
+@Component
+public class LlmHttpClient {
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final ExecutorService deliveryExecutor;
+    private final Semaphore inFlight;
+    private final int maxConcurrent;
+    private final Duration requestTimeout;
+    private final Duration streamTimeout;
+
+    public LlmHttpClient(ObjectMapper objectMapper,
+                         @Value("${ai.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+                         @Value("${ai.http.request-timeout-ms:60000}") long requestTimeoutMs,
+                         @Value("${ai.http.stream-timeout-ms:120000}") long streamTimeoutMs,
+                         @Value("${ai.http.max-concurrent:8}") int maxConcurrent,
+                         @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.objectMapper = objectMapper;
+        this.maxConcurrent = maxConcurrent;
+        this.inFlight = new Semaphore(maxConcurrent);
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.streamTimeout = Duration.ofMillis(streamTimeoutMs);
+
+        this.executor = Executors.newFixedThreadPool(Math.max(2, Math.min(maxConcurrent, 8)),
+                ThreadFactories.io("llm-http", virtualThreads));
+        this.deliveryExecutor = Executors.newCachedThreadPool(ThreadFactories.io("llm-stream", virtualThreads));
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * POST a JSON body and block (at most the request timeout) for the parsed JSON reply.
+     */
+    public JsonNode postJson(String url, Object body, Map<String, String> headers) {
+        try {
+            return postJsonAsync(url, body, headers).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for LLM response", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("LLM call failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    public CompletableFuture<JsonNode> postJsonAsync(String url, Object body, Map<String, String> headers) {
+        if (!inFlight.tryAcquire()) {
+            return CompletableFuture.failedFuture(new LlmSaturatedException(maxConcurrent));
+        }
+        CompletableFuture<HttpResponse<String>> exchange;
+        try {
+            exchange = httpClient.sendAsync(buildRequest(url, body, headers, requestTimeout),
+                    HttpResponse.BodyHandlers.ofString());
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+
+        CompletableFuture<JsonNode> result = exchange
+                .thenApply(response -> {
+                    if (response.statusCode() / 100 != 2) {
+                        throw new IllegalStateException("LLM returned HTTP " + response.statusCode() + ": " + response.body());
+                    }
+                    return readTree(response.body());
+                })
+                .orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        result.whenComplete((ignored, error) -> {
+            inFlight.release();
+            if (error != null) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * POST a JSON body and hand every line of the response body to {@code onLine} as it
+     * arrives (NDJSON streaming). Returning {@code false} from the callback stops reading.
+     * No thread is blocked while waiting for the next line. The callback and everything
+     * chained on the returned future run on the delivery pool, one line at a time; the next
+     * line is only requested once the callback has returned, so a slow callback throttles
+     * its own response instead of buffering it.
+     */
+    public CompletableFuture<Void> streamLines(String url, Object body, Predicate<String> onLine) {
+        if (!inFlight.tryAcquire()) {
+            return CompletableFuture.failedFuture(new LlmSaturatedException(maxConcurrent));
+        }
+        LineSubscriber subscriber = new LineSubscriber(onLine, deliveryExecutor);
+        CompletableFuture<HttpResponse<Void>> exchange;
+        try {
+            exchange = httpClient.sendAsync(buildRequest(url, body, Map.of(), requestTimeout),
+                    HttpResponse.BodyHandlers.fromLineSubscriber(subscriber));
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+
+        exchange.whenComplete((response, error) -> {
+            if (error != null) {
+                subscriber.done.completeExceptionally(error);
+            } else if (response.statusCode() / 100 != 2) {
+                subscriber.done.completeExceptionally(new IllegalStateException("LLM returned HTTP " + response.statusCode()));
+            }
+        });
+
+        CompletableFuture<Void> result = subscriber.done.orTimeout(streamTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        result.whenComplete((ignored, error) -> {
+            inFlight.release();
+            if (error != null) {
+                subscriber.cancel();
+                exchange.cancel(true);
+            }
+        });
+        // Completes on the delivery pool, whichever thread finished the stream
+        return result.whenCompleteAsync((ignored, error) -> { }, deliveryExecutor);
+    }
+
+    public int getAvailablePermits() {
+        return inFlight.availablePermits();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        deliveryExecutor.shutdownNow();
+    }
+
+    private HttpRequest buildRequest(String url, Object body, Map<String, String> headers, Duration timeout) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(writeJson(body)));
+        headers.forEach(builder::header);
+        return builder.build();
+    }
+
+    private String writeJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Thrown when every permit of the in-flight bulkhead is taken.
+     */
+    public static class LlmSaturatedException extends RuntimeException {
+        public LlmSaturatedException(int maxConcurrent) {
+            super("LLM client saturated: " + maxConcurrent + " generations already in flight");
+        }
+    }
+
+    private static final class LineSubscriber implements Flow.Subscriber<String> {
+
+        private final Predicate<String> onLine;
+        private final Executor deliveryExecutor;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private volatile Flow.Subscription subscription;
+        // Subscriber signals arrive one at a time, each chained behind the previous delivery
+        private CompletableFuture<Void> delivered = CompletableFuture.completedFuture(null);
+
+        private LineSubscriber(Predicate<String> onLine, Executor deliveryExecutor) {
+            this.onLine = onLine;
+            this.deliveryExecutor = deliveryExecutor;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled.get()) {
+                subscription.cancel();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onNext(String line) {
+            delivered = delivered.thenRunAsync(() -> deliver(line), deliveryExecutor);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            delivered = delivered.thenRun(() -> done.completeExceptionally(error));
+        }
+
+        @Override
+        public void onComplete() {
+            delivered = delivered.thenRun(() -> done.complete(null));
+        }
+
+        private void deliver(String line) {
+            if (done.isDone()) {
+                return;
+            }
+            try {
+                if (onLine.test(line)) {
+                    subscription.request(1);
+                } else {
+                    cancel();
+                    done.complete(null);
+                }
+            } catch (RuntimeException e) {
+                cancel();
+                done.completeExceptionally(e);
+            }
+        }
+
+        private void cancel() {
+            if (cancelled.compareAndSet(false, true) && subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+}
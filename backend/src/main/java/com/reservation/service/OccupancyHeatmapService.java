@@ -0,0 +1,205 @@
+package com.reservation.service;
+
+import com.reservation.dto.response.OccupancyHeatmapResponse;
+import com.reservation.model.entity.Room;
+import com.reservation.model.enums.EventStatus;
+import com.reservation.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Builds room x time-slot heatmaps from the {@link EventColumnStore}. Each day is rendered
+ * into a per-room minute bitmap (overlapping bookings count once), then the bitmap is
+ * popcounted per slot. Only one day of bitmaps is alive at a time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OccupancyHeatmapService {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS_PER_DAY = (MINUTES_PER_DAY + 63) / 64;
+    private static final byte CANCELLED = (byte) EventStatus.CANCELLED.ordinal();
+
+    private final EventColumnStore eventColumnStore;
+    private final RoomRepository roomRepository;
+
+    public OccupancyHeatmapResponse buildHeatmap(LocalDate from, LocalDate to, int slotMinutes,
+                                                 int startHour, int endHour, boolean runLengthEncoded) {
+        if (slotMinutes != 15 && slotMinutes != 30 && slotMinutes != 60) {
+            throw new IllegalArgumentException("slotMinutes must be 15, 30 or 60");
+        }
+        if (startHour < 0 || endHour > 24 || startHour >= endHour) {
+            throw new IllegalArgumentException("Invalid hour range: " + startHour + "-" + endHour);
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+
+        long start = System.currentTimeMillis();
+        List<Room> rooms = roomRepository.findAll(Sort.by("id"));
+        int windowStart = startHour * 60;
+        int windowEnd = endHour * 60;
+        int slots = (windowEnd - windowStart) / slotMinutes;
+        int[] cells = new int[rooms.size() * slots];
+
+        eventColumnStore.read(c -> {
+            int[] matrixRowByRoomIdx = new int[c.rooms().size()];
+            Arrays.fill(matrixRowByRoomIdx, -1);
+            for (int i = 0; i < rooms.size(); i++) {
+                int idx = c.rooms().find(rooms.get(i).getId());
+                if (idx >= 0) {
+                    matrixRowByRoomIdx[idx] = i;
+                }
+            }
+            fillCells(c, (int) from.toEpochDay(), (int) to.toEpochDay(), matrixRowByRoomIdx,
+                    rooms.size(), windowStart, slots, slotMinutes, cells);
+            return null;
+        });
+
+        OccupancyHeatmapResponse.OccupancyHeatmapResponseBuilder response = OccupancyHeatmapResponse.builder()
+                .from(from)
+                .to(to)
+                .slotMinutes(slotMinutes)
+                .startHour(startHour)
+                .endHour(endHour)
+                .slotsPerRoom(slots)
+                .roomIds(rooms.stream().map(Room::getId).collect(Collectors.toList()))
+                .roomNames(rooms.stream().map(Room::getName).collect(Collectors.toList()));
+        if (runLengthEncoded) {
+            response.encoding("rle").rle(encodeRunLength(cells));
+        } else {
+            response.encoding("dense").cells(cells);
+        }
+
+        log.info("📊 Heatmap {}..{} ({} rooms x {} slots) built in {}ms",
+                from, to, rooms.size(), slots, System.currentTimeMillis() - start);
+        return response.build();
+    }
+
+    private void fillCells(EventColumnStore.Columns c, int fromDay, int toDay, int[] matrixRowByRoomIdx,
+                           int roomCount, int windowStart, int slots, int slotMinutes, int[] cells) {
+        // Collect matching rows as (day offset << 32 | row) so a primitive sort groups them by day
+        long[] keys = new long[64];
+        int matches = 0;
+        int[] epochDay = c.epochDay();
+        int[] roomIdx = c.roomIdx();
+        byte[] status = c.status();
+        for (int row = 0; row < c.size(); row++) {
+            int day = epochDay[row];
+            if (day < fromDay || day > toDay || roomIdx[row] < 0 || !c.isLive(row) || status[row] == CANCELLED) {
+                continue;
+            }
+            if (matrixRowByRoomIdx[roomIdx[row]] < 0) {
+                continue;
+            }
+            if (matches == keys.length) {
+                keys = Arrays.copyOf(keys, keys.length * 2);
+            }
+            keys[matches++] = ((long) (day - fromDay) << 32) | row;
+        }
+        Arrays.sort(keys, 0, matches);
+
+        long[][] bitmaps = new long[roomCount][];
+        int[] touchedRooms = new int[roomCount];
+        boolean[] isTouched = new boolean[roomCount];
+        int touched = 0;
+        int currentDay = -1;
+        short[] startMinute = c.startMinute();
+        short[] endMinute = c.endMinute();
+
+        for (int i = 0; i <= matches; i++) {
+            int day = i < matches ? (int) (keys[i] >>> 32) : -2;
+            if (day != currentDay) {
+                // Flush the finished day into the slot counts and reset only the rooms it touched
+                for (int t = 0; t < touched; t++) {
+                    int room = touchedRooms[t];
+                    long[] bits = bitmaps[room];
+                    int base = room * slots;
+                    for (int s = 0; s < slots; s++) {
+                        int slotStart = windowStart + s * slotMinutes;
+                        cells[base + s] += countRange(bits, slotStart, slotStart + slotMinutes);
+                    }
+                    Arrays.fill(bits, 0L);
+                    isTouched[room] = false;
+                }
+                touched = 0;
+                currentDay = day;
+            }
+            if (i == matches) {
+                break;
+            }
+
+            int row = (int) keys[i];
+            int room = matrixRowByRoomIdx[roomIdx[row]];
+            if (bitmaps[room] == null) {
+                bitmaps[room] = new long[WORDS_PER_DAY];
+            }
+            if (!isTouched[room]) {
+                isTouched[room] = true;
+                touchedRooms[touched++] = room;
+            }
+            setRange(bitmaps[room], Math.max(0, startMinute[row]), Math.min(MINUTES_PER_DAY, endMinute[row]));
+        }
+    }
+
+    private static void setRange(long[] bits, int from, int to) {
+        for (int minute = from; minute < to; ) {
+            int bit = minute & 63;
+            int length = Math.min(64 - bit, to - minute);
+            bits[minute >>> 6] |= mask(bit, length);
+            minute += length;
+        }
+    }
+
+    private static int countRange(long[] bits, int from, int to) {
+        int count = 0;
+        for (int minute = from; minute < to; ) {
+            int bit = minute & 63;
+            int length = Math.min(64 - bit, to - minute);
+            count += Long.bitCount(bits[minute >>> 6] & mask(bit, length));
+            minute += length;
+        }
+        return count;
+    }
+
+    private static long mask(int bit, int length) {
+        return (length == 64 ? -1L : (1L << length) - 1) << bit;
+    }
+
+    /**
+     * Encode cells as base64 of unsigned varint pairs (value, run length).
+     */
+    static String encodeRunLength(int[] cells) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int i = 0;
+        while (i < cells.length) {
+            int value = cells[i];
+            int run = 1;
+            while (i + run < cells.length && cells[i + run] == value) {
+                run++;
+            }
+            writeVarint(out, value);
+            writeVarint(out, run);
+            i += run;
+        }
+        return Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
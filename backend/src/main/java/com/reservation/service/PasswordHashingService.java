@@ -0,0 +1,142 @@
+package com.reservation.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing (BCrypt matches and encodes) on a dedicated, bounded pool instead
+ * of Tomcat request threads. The pool has one thread per core, since hashing is pure CPU,
+ * and a bounded queue; when the queue is full new work is rejected right away with
+ * {@link HashingSaturatedException} (answered as 503) rather than piling up. Time spent
+ * waiting in the queue is recorded so login storms show up in {@link #getStats()}.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private static final int QUEUE_SAMPLES = 1024;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalQueueNanos = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+    // Ring buffer of recent queue waits (microseconds) for percentiles
+    private final long[] recentQueueMicros = new long[QUEUE_SAMPLES];
+    private final AtomicLong samples = new AtomicLong();
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${app.security.hashing.threads:0}") int threads,
+                                  @Value("${app.security.hashing.queue-capacity:256}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.queueCapacity = queueCapacity;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Whether the hash was made with a lower cost than the current one.
+     */
+    public boolean needsUpgrade(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public Map<String, Object> getStats() {
+        long[] recent;
+        synchronized (recentQueueMicros) {
+            int count = (int) Math.min(samples.get(), QUEUE_SAMPLES);
+            recent = Arrays.copyOf(recentQueueMicros, count);
+        }
+        Arrays.sort(recent);
+        long done = completed.sum();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", executor.getMaximumPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("completed", done);
+        stats.put("rejected", rejected.sum());
+        stats.put("avgQueueMs", done > 0 ? totalQueueNanos.sum() / done / 1_000_000.0 : 0);
+        stats.put("p99QueueMs", recent.length > 0 ? recent[(int) Math.ceil(recent.length * 0.99) - 1] / 1000.0 : 0);
+        stats.put("maxQueueMs", maxQueueNanos.get() / 1_000_000.0);
+        stats.put("avgHashMs", done > 0 ? totalHashNanos.sum() / done / 1_000_000.0 : 0);
+        return stats;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                long startedAt = System.nanoTime();
+                recordQueueWait(startedAt - queuedAt);
+                try {
+                    result.complete(task.get());
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                } finally {
+                    totalHashNanos.add(System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("🔐 Password hashing queue full ({} waiting), rejecting", queueCapacity);
+            throw new HashingSaturatedException(queueCapacity);
+        }
+        return result;
+    }
+
+    private void recordQueueWait(long nanos) {
+        totalQueueNanos.add(nanos);
+        maxQueueNanos.accumulateAndGet(nanos, Math::max);
+        synchronized (recentQueueMicros) {
+            recentQueueMicros[(int) (samples.getAndIncrement() % QUEUE_SAMPLES)] = nanos / 1000;
+        }
+    }
+
+    /**
+     * Thrown when the hashing queue is full; the client should retry shortly.
+     */
+    public static class HashingSaturatedException extends RuntimeException {
+        public HashingSaturatedException(int queueCapacity) {
+            super("Too many logins in progress (" + queueCapacity + " queued), please retry shortly");
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.reservation.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reservation.dto.mapper.ResponseMapper;
+import com.reservation.model.entity.Event;
+import com.reservation.model.entity.ScheduleTemplate;
+import com.reservation.repository.EventRepository;
+import com.reservation.repository.ScheduleTemplateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized, pre-compressed snapshots of published schedule template weeks. Every student
+ * gets the same bytes for a published week, so the JSON is rendered and gzipped once and
+ * both forms are kept in memory; requests only pick one and write it out.
+ *
+ * A snapshot carries the {@link ScheduleVersions} tag of its week from when it was built. As
+ * long as the week's current tag still matches, the snapshot is served without touching the
+ * database; any event change in the week, or a user, room, course or template change, moves
+ * the tag and the next request rebuilds it. Concurrent requests for a stale week wait for one
+ * rebuild instead of each doing their own.
+ */
+@Slf4j
+@Service
+public class PublishedWeekSnapshots {
+
+    // Striped so any number of requested ids shares a fixed set of locks
+    private static final int BUILD_LOCK_STRIPES = 32;
+
+    private final ScheduleTemplateRepository templateRepository;
+    private final EventRepository eventRepository;
+    private final ResponseMapper responseMapper;
+    private final ScheduleVersions scheduleVersions;
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Object[] buildLocks = new Object[BUILD_LOCK_STRIPES];
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong builds = new AtomicLong();
+
+    public PublishedWeekSnapshots(ScheduleTemplateRepository templateRepository,
+                                  EventRepository eventRepository,
+                                  ResponseMapper responseMapper,
+                                  ScheduleVersions scheduleVersions,
+                                  ObjectMapper objectMapper,
+                                  @Value("${app.schedule.snapshot-max-entries:64}") int maxEntries) {
+        this.templateRepository = templateRepository;
+        this.eventRepository = eventRepository;
+        this.responseMapper = responseMapper;
+        this.scheduleVersions = scheduleVersions;
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        for (int i = 0; i < buildLocks.length; i++) {
+            buildLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Current snapshot of a published template's week; empty if the template does not exist
+     * or is not published.
+     */
+    public Optional<Snapshot> get(Long templateId) {
+        Snapshot snapshot = snapshots.get(templateId);
+        if (snapshot != null && snapshot.etag.equals(currentTag(snapshot.weekStart, snapshot.weekEnd))) {
+            hits.incrementAndGet();
+            return Optional.of(snapshot);
+        }
+        synchronized (buildLocks[Math.floorMod(templateId.hashCode(), buildLocks.length)]) {
+            snapshot = snapshots.get(templateId);
+            if (snapshot != null && snapshot.etag.equals(currentTag(snapshot.weekStart, snapshot.weekEnd))) {
+                hits.incrementAndGet();
+                return Optional.of(snapshot);
+            }
+            snapshots.remove(templateId);
+            Optional<Snapshot> built = build(templateId);
+            built.ifPresent(fresh -> {
+                if (snapshots.size() >= maxEntries) {
+                    snapshots.clear();
+                }
+                snapshots.put(templateId, fresh);
+            });
+            return built;
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("snapshots", snapshots.size());
+        stats.put("hits", hits.get());
+        stats.put("builds", builds.get());
+        stats.put("bytes", snapshots.values().stream().mapToLong(s -> s.json.length + s.gzip.length).sum());
+        return stats;
+    }
+
+    private Optional<Snapshot> build(Long templateId) {
+        Optional<ScheduleTemplate> found = templateRepository.findById(templateId);
+        if (found.isEmpty() || found.get().getStatus() != ScheduleTemplate.ScheduleStatus.PUBLISHED) {
+            return Optional.empty();
+        }
+        ScheduleTemplate template = found.get();
+        // Taken before reading, so a change committed meanwhile makes the snapshot stale at once
+        String etag = currentTag(template.getWeekStartDate(), template.getWeekEndDate());
+
+        List<Event> events = new ArrayList<>(
+                eventRepository.findForCalendarSync(template.getWeekStartDate(), template.getWeekEndDate()));
+        events.sort(Comparator.comparing(Event::getDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Event::getStartTime, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("templateId", template.getId());
+        payload.put("name", template.getName());
+        payload.put("weekStart", template.getWeekStartDate());
+        payload.put("weekEnd", template.getWeekEndDate());
+        payload.put("generatedAt", LocalDateTime.now());
+        payload.put("events", responseMapper.toEnhancedDtos(events));
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(payload);
+            byte[] gzip = gzip(json);
+            builds.incrementAndGet();
+            log.info("📦 Snapshot of published week {} (template {}): {} events, {} bytes JSON, {} bytes gzip",
+                    template.getWeekStartDate(), templateId, events.size(), json.length, gzip.length);
+            return Optional.of(new Snapshot(etag, template.getWeekStartDate(), template.getWeekEndDate(), json, gzip));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize snapshot of template " + templateId, e);
+        }
+    }
+
+    private String currentTag(LocalDate weekStart, LocalDate weekEnd) {
+        return scheduleVersions.rangeTag(weekStart, weekEnd);
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        // Compressed once and served many times, so spend the CPU on the best ratio
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * One rendered week: identical JSON and gzip bodies plus the tag they were built for.
+     * The arrays are shared by all requests and must not be modified.
+     */
+    public static final class Snapshot {
+        private final String etag;
+        private final LocalDate weekStart;
+        private final LocalDate weekEnd;
+        private final byte[] json;
+        private final byte[] gzip;
+
+        private Snapshot(String etag, LocalDate weekStart, LocalDate weekEnd, byte[] json, byte[] gzip) {
+            this.etag = etag;
+            this.weekStart = weekStart;
+            this.weekEnd = weekEnd;
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public byte[] getGzip() {
+            return gzip;
+        }
+    }
+}
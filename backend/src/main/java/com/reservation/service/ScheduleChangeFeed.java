@@ -0,0 +1,342 @@
+package com.reservation.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.reservation.config.ThreadFactories;
+import com.reservation.model.enums.EventStatus;
+import com.reservation.model.listener.EventChange;
+import jakarta.annotation.PreDestroy;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-sent event feed of committed schedule changes. Every event insert, update and
+ * delete (whether from {@link EventService}, the schedulers or anything else going through
+ * JPA) becomes a compact {@link Delta} that is pushed to the subscribers whose filter (week,
+ * room, teacher) it matches, either before or after the change.
+ *
+ * Each subscriber has a bounded queue drained by its own sender thread (taken from a pool
+ * that grows with the number of busy subscribers, virtual threads when enabled), so a slow
+ * client never blocks the committing thread or other clients. A subscriber whose write has
+ * been stuck for longer than the send timeout is dropped: it gets nothing more, and its
+ * sender closes the response once the blocked write returns, which the container's write
+ * timeout ({@code server.tomcat.connection-timeout}) bounds. When a queue overflows its
+ * contents are dropped and the client gets a single {@code resync} event telling it to
+ * reload instead.
+ * The last deltas are kept so a reconnecting client (sending {@code Last-Event-ID}) picks up
+ * where it left off; if it has been away too long it gets {@code resync} as well.
+ */
+@Slf4j
+@Service
+public class ScheduleChangeFeed {
+
+    private final int maxSubscribers;
+    private final int queueCapacity;
+    private final int replaySize;
+    private final long timeoutMs;
+    private final long sendTimeoutMs;
+    private final ExecutorService sender;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Deque<Delta> recent = new ArrayDeque<>();
+    // Seeded from the clock so ids from before a restart are recognised as too old
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis());
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong overflows = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong stalled = new AtomicLong();
+
+    public ScheduleChangeFeed(@Value("${app.feed.max-subscribers:1000}") int maxSubscribers,
+                              @Value("${app.feed.queue-capacity:256}") int queueCapacity,
+                              @Value("${app.feed.replay-size:1000}") int replaySize,
+                              @Value("${app.feed.timeout-ms:1800000}") long timeoutMs,
+                              @Value("${app.feed.send-timeout-ms:10000}") long sendTimeoutMs,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.maxSubscribers = maxSubscribers;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.replaySize = replaySize;
+        this.timeoutMs = timeoutMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+
+        // A subscriber is drained by at most one task at a time, so this never holds more
+        // threads than there are subscribers with pending writes
+        this.sender = Executors.newCachedThreadPool(ThreadFactories.io("schedule-feed", virtualThreads));
+    }
+
+    /**
+     * Register a subscriber. Deltas after {@code lastEventId} that match the filter are
+     * replayed first when the id is given.
+     *
+     * @throws FeedFullException if the subscriber limit is reached
+     */
+    public SseEmitter subscribe(Filter filter, Long lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            rejected.incrementAndGet();
+            throw new FeedFullException(maxSubscribers);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, filter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        synchronized (recent) {
+            if (lastEventId != null) {
+                long oldest = recent.isEmpty() ? sequence.get() + 1 : recent.peekFirst().getSeq();
+                if (lastEventId + 1 < oldest || lastEventId > sequence.get()) {
+                    subscriber.overflowed = true;
+                } else {
+                    for (Delta delta : recent) {
+                        if (delta.getSeq() > lastEventId && filter.matches(delta)) {
+                            subscriber.offer(delta);
+                        }
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.heartbeatDue = true;
+        subscriber.schedule();
+        log.debug("📡 Feed subscriber added ({} active, filter {})", subscribers.size(), filter);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        // Numbering, retention and fan-out happen together so replay and live delivery never
+        // interleave out of order; offering to a queue never blocks
+        synchronized (recent) {
+            Delta delta = Delta.of(sequence.incrementAndGet(), change);
+            recent.addLast(delta);
+            while (recent.size() > replaySize) {
+                recent.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.filter.matches(delta)) {
+                    subscriber.offer(delta);
+                }
+            }
+        }
+        published.incrementAndGet();
+    }
+
+    /**
+     * Keep idle connections open through proxies and notice clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${app.feed.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            subscriber.schedule();
+        }
+    }
+
+    /**
+     * Drop subscribers whose current write has not finished within the send timeout (client
+     * not reading, full TCP buffer), so no more deltas queue up for them and their slot is
+     * freed. The emitter is not touched here: the stuck write holds its lock, so the
+     * subscriber's sender closes it once the write fails or returns.
+     */
+    @Scheduled(fixedDelayString = "${app.feed.send-timeout-ms:10000}")
+    public void dropStalledSubscribers() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince;
+            if (since != 0 && now - since > sendTimeoutMs && subscribers.remove(subscriber)) {
+                stalled.incrementAndGet();
+                log.debug("📡 Feed subscriber dropped, write stalled for {}ms", now - since);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        sender.shutdownNow();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscribers.size());
+        stats.put("maxSubscribers", maxSubscribers);
+        stats.put("published", published.get());
+        stats.put("delivered", delivered.get());
+        stats.put("overflows", overflows.get());
+        stats.put("rejectedSubscriptions", rejected.get());
+        stats.put("stalledDropped", stalled.get());
+        stats.put("lastEventId", sequence.get());
+        return stats;
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final Filter filter;
+        final BlockingQueue<Delta> queue = new ArrayBlockingQueue<>(queueCapacity);
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile boolean overflowed;
+        volatile boolean heartbeatDue;
+        // When the write in progress started, 0 while not writing
+        volatile long sendingSince;
+
+        Subscriber(SseEmitter emitter, Filter filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+
+        void offer(Delta delta) {
+            if (!queue.offer(delta)) {
+                overflowed = true;
+                overflows.incrementAndGet();
+                queue.clear();
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (!subscribers.contains(this)) {
+                    // Dropped or already closed; completing a closed emitter is a no-op
+                    emitter.complete();
+                    return;
+                }
+                if (overflowed) {
+                    overflowed = false;
+                    queue.clear();
+                    send(SseEmitter.event().id(Long.toString(sequence.get())).name("resync").data(Map.of()));
+                }
+                Delta delta;
+                while (subscribers.contains(this) && (delta = queue.poll()) != null) {
+                    send(SseEmitter.event().id(Long.toString(delta.getSeq())).name("change").data(delta));
+                    delivered.incrementAndGet();
+                }
+                if (heartbeatDue && subscribers.contains(this)) {
+                    heartbeatDue = false;
+                    send(SseEmitter.event().comment("ping"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            if (!subscribers.contains(this)) {
+                emitter.complete();
+            } else if (!queue.isEmpty() || overflowed) {
+                schedule();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendingSince = System.currentTimeMillis();
+            try {
+                emitter.send(event);
+            } finally {
+                sendingSince = 0;
+            }
+        }
+    }
+
+    /**
+     * What a subscriber wants to hear about; null fields match everything.
+     */
+    @lombok.Value
+    public static class Filter {
+        LocalDate weekStart;
+        Long roomId;
+        Long teacherId;
+
+        public static Filter of(LocalDate week, Long roomId, Long teacherId) {
+            return new Filter(week != null ? week.with(DayOfWeek.MONDAY) : null, roomId, teacherId);
+        }
+
+        boolean matches(Delta delta) {
+            return (weekStart == null || inWeek(delta.getDate()) || inWeek(delta.getPreviousDate()))
+                    && (roomId == null || roomId.equals(delta.getRoomId()) || roomId.equals(delta.getPreviousRoomId()))
+                    && (teacherId == null || teacherId.equals(delta.getTeacherId()) || teacherId.equals(delta.getPreviousTeacherId()));
+        }
+
+        private boolean inWeek(LocalDate date) {
+            return date != null && !date.isBefore(weekStart) && !date.isAfter(weekStart.plusDays(6));
+        }
+    }
+
+    /**
+     * Wire form of a change. The previous date, room and teacher are only set when they
+     * differ from the current ones.
+     */
+    @lombok.Value
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Delta {
+        @JsonIgnore // sent as the SSE event id
+        long seq;
+        EventChange.Kind kind;
+        Long id;
+        LocalDate date;
+        LocalTime startTime;
+        LocalTime endTime;
+        Long roomId;
+        Long teacherId;
+        EventStatus status;
+        LocalDate previousDate;
+        Long previousRoomId;
+        Long previousTeacherId;
+
+        static Delta of(long seq, EventChange change) {
+            return Delta.builder()
+                    .seq(seq)
+                    .kind(change.getKind())
+                    .id(change.getEventId())
+                    .date(change.getDate())
+                    .startTime(change.getStartTime())
+                    .endTime(change.getEndTime())
+                    .roomId(change.getRoomId())
+                    .teacherId(change.getTeacherId())
+                    .status(change.getStatus())
+                    .previousDate(changed(change.getPreviousDate(), change.getDate()))
+                    .previousRoomId(changed(change.getPreviousRoomId(), change.getRoomId()))
+                    .previousTeacherId(changed(change.getPreviousTeacherId(), change.getTeacherId()))
+                    .build();
+        }
+
+        private static <T> T changed(T previous, T current) {
+            return Objects.equals(previous, current) ? null : previous;
+        }
+    }
+
+    public static class FeedFullException extends RuntimeException {
+        public FeedFullException(int maxSubscribers) {
+            super("Change feed is at its limit of " + maxSubscribers + " subscribers, retry later");
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.reservation.service;
+
+import com.reservation.model.listener.CalendarLinkChange;
+import com.reservation.model.listener.EventChange;
+import com.reservation.model.listener.ReferenceDataChange;
+import com.reservation.model.listener.UserChange;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory change counters for schedule data, used to build weak ETags so that a client
+ * revalidating an unchanged schedule gets a 304 without the database being queried.
+ *
+ * There is one counter per week (keyed by its Monday), bumped by every committed event
+ * change in that week (both weeks when an event moves), a reference counter bumped by
+ * user, room and course changes (names shown in schedules), and a global counter bumped by
+ * all of them. Google event ids written by the calendar sync only bump the weeks of their
+ * events, as only the weekly timetables show them. Counters start from zero on every boot, so tags carry a random boot id and
+ * never match a tag handed out by a previous run.
+ *
+ * Tags must be taken before the data is read: a change committed in between then yields a
+ * newer body under an older tag, which only costs the next request a full response.
+ */
+@Component
+public class ScheduleVersions {
+
+    private final String bootId = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong global = new AtomicLong();
+    private final AtomicLong reference = new AtomicLong();
+    private final Map<LocalDate, AtomicLong> weeks = new ConcurrentHashMap<>();
+
+    /**
+     * Tag for responses that cover all events.
+     */
+    public String allEventsTag() {
+        return "W/\"" + bootId + "-" + global.get() + "\"";
+    }
+
+    /**
+     * Tag for responses that cover events between the two dates (inclusive).
+     */
+    public String rangeTag(LocalDate from, LocalDate to) {
+        StringBuilder tag = new StringBuilder("W/\"").append(bootId).append('-').append(reference.get());
+        for (LocalDate week = weekStart(from); !week.isAfter(to); week = week.plusWeeks(1)) {
+            tag.append('-').append(week).append('.').append(weekVersion(week));
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Tag for responses that cover the current Monday-to-Sunday week.
+     */
+    public String currentWeekTag() {
+        LocalDate weekStart = weekStart(LocalDate.now());
+        return rangeTag(weekStart, weekStart.plusDays(6));
+    }
+
+    /**
+     * Tag for another representation (e.g. media type) of the same data and version.
+     */
+    public static String variant(String tag, String name) {
+        return tag.substring(0, tag.length() - 1) + "-" + name + "\"";
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        if (change.getDate() != null) {
+            bumpWeek(change.getDate());
+        }
+        if (change.getPreviousDate() != null && !change.getPreviousDate().equals(change.getDate())) {
+            bumpWeek(change.getPreviousDate());
+        }
+        global.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCalendarLinkChange(CalendarLinkChange change) {
+        change.getEvents().values().stream()
+                .filter(Objects::nonNull)
+                .map(ScheduleVersions::weekStart)
+                .distinct()
+                .forEach(this::bumpWeek);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChange(UserChange change) {
+        reference.incrementAndGet();
+        global.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReferenceDataChange(ReferenceDataChange change) {
+        reference.incrementAndGet();
+        global.incrementAndGet();
+    }
+
+    private void bumpWeek(LocalDate date) {
+        weeks.computeIfAbsent(weekStart(date), week -> new AtomicLong()).incrementAndGet();
+    }
+
+    private long weekVersion(LocalDate weekStart) {
+        AtomicLong version = weeks.get(weekStart);
+        return version != null ? version.get() : 0;
+    }
+
+    private static LocalDate weekStart(LocalDate date) {
+        return date.with(DayOfWeek.MONDAY);
+    }
+}
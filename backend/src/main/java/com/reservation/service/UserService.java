@@ -10,6 +10,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -31,6 +32,7 @@ public class UserService {
                 .name(request.getName())
                 .email(request.getEmail())
                 .password(passwordEncoder.encode(request.getPassword()))
+                .passwordChangedAt(LocalDateTime.now())
                 .role(request.getRole())
                 .build();
 
@@ -57,6 +59,17 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Store a re-hash of the unchanged password (e.g. at a higher BCrypt cost). Not a password
+     * change: {@code passwordChangedAt}, and with it the user's issued tokens, stay valid.
+     */
+    public void updatePasswordHash(Long userId, String passwordHash) {
+        userRepository.findById(userId).ifPresent(user -> {
+            user.setPassword(passwordHash);
+            userRepository.save(user);
+        });
+    }
+
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
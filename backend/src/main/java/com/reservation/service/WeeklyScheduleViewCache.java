@@ -0,0 +1,230 @@
+package com.reservation.service;
+
+import com.reservation.config.GoogleCalendarConfig;
+import com.reservation.dto.mapper.ResponseMapper;
+import com.reservation.dto.response.CompactSchedule;
+import com.reservation.model.entity.Event;
+import com.reservation.model.listener.CalendarLinkChange;
+import com.reservation.model.listener.EventChange;
+import com.reservation.model.listener.ReferenceDataChange;
+import com.reservation.model.listener.UserChange;
+import com.reservation.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Materialized weekly timetables for the professor and student views. A view is built once
+ * (one query with everything it renders fetched) and then served from memory until an
+ * event in it changes: a change drops exactly the views that contained the event, plus the
+ * views of the week and teacher it now belongs to. Students have no enrollment yet, so they
+ * all share one view per week. Any room or course change drops all views, and views showing
+ * an event whose Google event id the calendar sync wrote or cleared are dropped. Each view also
+ * keeps its events in the {@link CompactSchedule} form for clients that ask for it.
+ */
+@Slf4j
+@Service
+public class WeeklyScheduleViewCache {
+
+    private final EventRepository eventRepository;
+    private final GoogleCalendarConfig calendarConfig;
+    private final ResponseMapper responseMapper;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Map<ViewKey, View> views = new ConcurrentHashMap<>();
+    // Bumped by every invalidation; a view built across one is served but not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public WeeklyScheduleViewCache(EventRepository eventRepository,
+                                   GoogleCalendarConfig calendarConfig,
+                                   ResponseMapper responseMapper,
+                                   @Value("${app.schedule.view-cache-ttl-ms:600000}") long ttlMs,
+                                   @Value("${app.schedule.view-cache-max-entries:5000}") int maxEntries) {
+        this.eventRepository = eventRepository;
+        this.calendarConfig = calendarConfig;
+        this.responseMapper = responseMapper;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @param compact whether {@code events} should be a {@link CompactSchedule}
+     */
+    public Map<String, Object> getProfessorWeek(String email, boolean compact) {
+        LocalDate weekStart = LocalDate.now().with(DayOfWeek.MONDAY);
+        View view = lookup(new ViewKey(ViewKey.PROFESSOR, email, weekStart),
+                () -> eventRepository.findTeacherWeekView(email, weekStart, weekStart.plusDays(6)));
+        return respond("professor", email, view, compact);
+    }
+
+    public Map<String, Object> getStudentWeek(String email, boolean compact) {
+        LocalDate weekStart = LocalDate.now().with(DayOfWeek.MONDAY);
+        View view = lookup(new ViewKey(ViewKey.STUDENT, null, weekStart),
+                () -> eventRepository.findForCalendarSync(weekStart, weekStart.plusDays(6)));
+        return respond("student", email, view, compact);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        invalidations.incrementAndGet();
+        LocalDate newWeek = change.getDate() != null ? change.getDate().with(DayOfWeek.MONDAY) : null;
+        int before = views.size();
+        views.entrySet().removeIf(entry -> {
+            ViewKey key = entry.getKey();
+            View view = entry.getValue();
+            if (view.eventIds.contains(change.getEventId())) {
+                return true;
+            }
+            if (change.getKind() == EventChange.Kind.DELETED || !key.weekStart.equals(newWeek)) {
+                return false;
+            }
+            return key.kind.equals(ViewKey.STUDENT)
+                    || view.teacherId == null
+                    || view.teacherId.equals(change.getTeacherId());
+        });
+        log.debug("📅 Event {} {}: dropped {} weekly view(s)", change.getEventId(), change.getKind(), before - views.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChange(UserChange change) {
+        invalidations.incrementAndGet();
+        views.entrySet().removeIf(entry -> Objects.equals(entry.getKey().email, change.getEmail())
+                || (change.getPreviousEmail() != null && change.getPreviousEmail().equals(entry.getKey().email))
+                || (entry.getValue().teacherId != null && entry.getValue().teacherId.equals(change.getUserId())));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCalendarLinkChange(CalendarLinkChange change) {
+        invalidations.incrementAndGet();
+        Set<Long> eventIds = change.getEvents().keySet();
+        views.entrySet().removeIf(entry -> entry.getValue().eventIds.stream().anyMatch(eventIds::contains));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReferenceDataChange(ReferenceDataChange change) {
+        invalidations.incrementAndGet();
+        views.clear();
+    }
+
+    private View lookup(ViewKey key, Supplier<List<Event>> loader) {
+        View view = views.get(key);
+        if (view != null && System.currentTimeMillis() - view.builtAt < ttlMs) {
+            return view;
+        }
+        long seen = invalidations.get();
+        List<Event> events = loader.get();
+        View built = new View(events, key.weekStart, responseMapper);
+        if (invalidations.get() == seen) {
+            if (views.size() >= maxEntries) {
+                views.clear();
+            }
+            views.put(key, built);
+        }
+        return built;
+    }
+
+    private Map<String, Object> respond(String role, String email, View view, boolean compact) {
+        Map<String, Object> response = new HashMap<>();
+        response.put(role, email);
+        response.put("weekStart", view.weekStart);
+        response.put("weekEnd", view.weekStart.plusDays(6));
+        response.put("events", compact ? view.compact : view.events);
+        response.put("googleCalendarEnabled", calendarConfig.isGoogleCalendarEnabled());
+        return response;
+    }
+
+    private static Map<String, Object> eventToMap(Event event) {
+        Map<String, Object> eventMap = new HashMap<>();
+        eventMap.put("id", event.getId());
+        eventMap.put("title", event.getTitle());
+        eventMap.put("date", event.getDate());
+        eventMap.put("startTime", event.getStartTime());
+        eventMap.put("endTime", event.getEndTime());
+        eventMap.put("description", event.getDescription());
+        eventMap.put("googleEventId", event.getGoogleEventId());
+        
+        if (event.getRoom() != null) {
+            eventMap.put("room", event.getRoom().getName());
+            eventMap.put("location", event.getRoom().getName());
+        }
+        if (event.getCourse() != null) {
+            eventMap.put("course", event.getCourse().getName());
+        }
+        if (event.getTeacher() != null) {
+            eventMap.put("professor", event.getTeacher().getEmail());
+            eventMap.put("teacher", event.getTeacher().getEmail());
+        }
+        
+        return Collections.unmodifiableMap(eventMap);
+    }
+
+    private static final class ViewKey {
+        private static final String PROFESSOR = "professor";
+        private static final String STUDENT = "student";
+
+        private final String kind;
+        private final String email;
+        private final LocalDate weekStart;
+
+        private ViewKey(String kind, String email, LocalDate weekStart) {
+            this.kind = kind;
+            this.email = email;
+            this.weekStart = weekStart;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ViewKey)) {
+                return false;
+            }
+            ViewKey other = (ViewKey) o;
+            return kind.equals(other.kind) && Objects.equals(email, other.email) && weekStart.equals(other.weekStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, email, weekStart);
+        }
+    }
+
+    private static final class View {
+        private final List<Map<String, Object>> events;
+        private final CompactSchedule compact;
+        private final Set<Long> eventIds;
+        // Teacher of a professor view, when it has events; null otherwise
+        private final Long teacherId;
+        private final LocalDate weekStart;
+        private final long builtAt = System.currentTimeMillis();
+
+        private View(List<Event> source, LocalDate weekStart, ResponseMapper responseMapper) {
+            this.weekStart = weekStart;
+            List<Event> sorted = source.stream()
+                    .sorted(Comparator.comparing(Event::getDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                            .thenComparing(Event::getStartTime, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .collect(Collectors.toList());
+            this.events = sorted.stream()
+                    .map(WeeklyScheduleViewCache::eventToMap)
+                    .collect(Collectors.toUnmodifiableList());
+            this.compact = responseMapper.toCompactSchedule(sorted);
+            this.eventIds = source.stream().map(Event::getId).collect(Collectors.toUnmodifiableSet());
+            this.teacherId = source.stream()
+                    .filter(e -> e.getTeacher() != null)
+                    .map(e -> e.getTeacher().getId())
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+}
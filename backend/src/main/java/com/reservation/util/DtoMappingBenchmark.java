@@ -0,0 +1,144 @@
+package com.reservation.util;
+
+import com.reservation.dto.mapper.ResponseMapper;
+import com.reservation.dto.response.EventResponse;
+import com.reservation.dto.response.RoomResponse;
+import com.reservation.dto.response.UserResponse;
+import com.reservation.model.entity.Course;
+import com.reservation.model.entity.Event;
+import com.reservation.model.entity.Room;
+import com.reservation.model.entity.User;
+import com.reservation.model.enums.EventStatus;
+import com.reservation.model.enums.EventType;
+import com.reservation.model.enums.Role;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Maps a large in-memory event list to {@link EventResponse}s the way the services used to
+ * (new room and teacher DTOs for every event) and through {@link ResponseMapper}, and prints
+ * time, bytes allocated by the mapping thread and the number of distinct room/teacher DTOs
+ * each result holds on to. Each variant is warmed up before it is measured.
+ *
+ * Usage: java com.reservation.util.DtoMappingBenchmark [events] [rooms] [teachers] [rounds]
+ * (defaults: 100000 20 60 5)
+ */
+public class DtoMappingBenchmark {
+
+    public static void main(String[] args) {
+        int eventCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int roomCount = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int teacherCount = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        List<Event> events = sampleEvents(eventCount, roomCount, teacherCount);
+        ResponseMapper mapper = new ResponseMapper();
+
+        System.out.printf("%,d events, %d rooms, %d teachers, %d rounds%n", eventCount, roomCount, teacherCount, rounds);
+        measure("per-event DTOs", DtoMappingBenchmark::legacyMap, events, rounds);
+        measure("ResponseMapper (interned)", mapper::toEventResponses, events, rounds);
+    }
+
+    private static void measure(String name, Function<List<Event>, List<EventResponse>> mapping,
+                                List<Event> events, int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            mapping.apply(events);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long bestNanos = Long.MAX_VALUE;
+        long bytes = 0;
+        List<EventResponse> result = null;
+        for (int i = 0; i < rounds; i++) {
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            result = mapping.apply(events);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+            bytes = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        }
+
+        Set<RoomResponse> rooms = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<UserResponse> teachers = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (EventResponse response : result) {
+            rooms.add(response.getRoom());
+            teachers.add(response.getTeacher());
+        }
+        System.out.printf("  %-28s %7.1f ms  %,10d KB allocated  %,8d room DTOs  %,8d teacher DTOs%n",
+                name, bestNanos / 1e6, bytes / 1024, rooms.size(), teachers.size());
+    }
+
+    // The mapping as it was copied across EventService, ConflictDetectionService and others
+    private static List<EventResponse> legacyMap(List<Event> events) {
+        List<EventResponse> responses = new ArrayList<>();
+        for (Event event : events) {
+            Room room = event.getRoom();
+            User teacher = event.getTeacher();
+            responses.add(EventResponse.builder()
+                    .id(event.getId())
+                    .type(event.getType())
+                    .date(event.getDate())
+                    .startTime(event.getStartTime())
+                    .endTime(event.getEndTime())
+                    .room(RoomResponse.builder()
+                            .id(room.getId())
+                            .name(room.getName())
+                            .capacity(room.getCapacity())
+                            .location(room.getLocation())
+                            .build())
+                    .teacher(UserResponse.builder()
+                            .id(teacher.getId())
+                            .name(teacher.getName())
+                            .email(teacher.getEmail())
+                            .role(teacher.getRole())
+                            .build())
+                    .status(event.getStatus())
+                    .title(event.getTitle())
+                    .description(event.getDescription())
+                    .expectedParticipants(event.getExpectedParticipants())
+                    .preferredDates(event.getPreferredDates())
+                    .build());
+        }
+        return responses;
+    }
+
+    private static List<Event> sampleEvents(int eventCount, int roomCount, int teacherCount) {
+        List<Room> rooms = new ArrayList<>();
+        for (long i = 1; i <= roomCount; i++) {
+            rooms.add(Room.builder().id(i).name("Room " + i).capacity(30).location("Building " + (i % 5)).build());
+        }
+        List<User> teachers = new ArrayList<>();
+        for (long i = 1; i <= teacherCount; i++) {
+            teachers.add(User.builder().id(i).name("Teacher " + i).email("teacher" + i + "@university.com")
+                    .role(Role.TEACHER).build());
+        }
+        Course course = Course.builder().id(1L).name("Algorithms").subject("Computer Science").durationHours(2).build();
+
+        LocalDate monday = LocalDate.of(2024, 9, 2);
+        List<Event> events = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            LocalTime start = LocalTime.of(8 + (i % 8), 0);
+            events.add(Event.builder()
+                    .id((long) i + 1)
+                    .type(EventType.COURSE)
+                    .status(EventStatus.SCHEDULED)
+                    .date(monday.plusDays(i % 5).plusWeeks(i / 2000))
+                    .startTime(start)
+                    .endTime(start.plusMinutes(90))
+                    .title("Session " + i)
+                    .room(rooms.get(i % roomCount))
+                    .teacher(teachers.get(i % teacherCount))
+                    .course(course)
+                    .expectedParticipants(25)
+                    .build());
+        }
+        return events;
+    }
+}
@@ -0,0 +1,330 @@
+package com.reservation.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory stand-in for the Google Calendar v3 events API, for exercising calendar sync
+ * without a Google account. Supports insert, get, patch, update, delete and list (including
+ * sync tokens and cancelled tombstones), both as plain calls and inside multipart/mixed
+ * batch requests on /batch/calendar/v3.
+ *
+ * Usage: java com.reservation.util.FakeGoogleCalendarServer [port] [latencyMs]
+ * then run the backend with google.calendar.enabled=true and
+ * google.calendar.root-url=http://localhost:&lt;port&gt;/
+ */
+public class FakeGoogleCalendarServer {
+
+    private static final Pattern EVENTS_PATH = Pattern.compile("^/calendar/v3/calendars/([^/]+)/events(?:/([^/?]+))?$");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Map<String, Map<String, ObjectNode>> calendars = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final long latencyMs;
+
+    public FakeGoogleCalendarServer(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        long latencyMs = args.length > 1 ? Long.parseLong(args[1]) : 20;
+        new FakeGoogleCalendarServer(latencyMs).start(port);
+        System.out.println("Fake Google Calendar listening on http://localhost:" + port + "/ (latency " + latencyMs + "ms per HTTP call)");
+    }
+
+    public HttpServer start(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/batch/calendar/v3", this::handleBatch);
+        server.createContext("/calendar/v3/", this::handleSingle);
+        server.setExecutor(java.util.concurrent.Executors.newFixedThreadPool(8));
+        server.start();
+        return server;
+    }
+
+    private void handleSingle(HttpExchange exchange) throws IOException {
+        sleep(latencyMs);
+        requests.incrementAndGet();
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        // NetHttpTransport cannot send PATCH, so the Google client tunnels it through POST
+        String override = exchange.getRequestHeaders().getFirst("X-HTTP-Method-Override");
+        Response response = dispatch(override != null ? override : exchange.getRequestMethod(), exchange.getRequestURI(), body);
+        byte[] bytes = response.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(response.status, response.status == 204 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (response.status != 204) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Each part of a batch is an embedded HTTP request ("application/http"); answers go
+     * back as embedded HTTP responses in the same order.
+     */
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        sleep(latencyMs);
+        requests.incrementAndGet();
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        String boundary = boundaryOf(contentType);
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+
+        String responseBoundary = "batch_" + UUID.randomUUID().toString().replace("-", "");
+        StringBuilder out = new StringBuilder();
+        int partNumber = 0;
+        for (String part : body.split("--" + Pattern.quote(boundary))) {
+            String trimmed = part.strip();
+            if (trimmed.isEmpty() || trimmed.equals("--")) {
+                continue;
+            }
+            partNumber++;
+            String contentId = headerValue(partHeaders(part), "Content-ID");
+            String embedded = afterBlankLine(part);
+            String[] requestLine = embedded.substring(0, lineEnd(embedded)).trim().split(" ");
+            String override = headerValue(partHeaders(embedded.substring(lineEnd(embedded))), "X-HTTP-Method-Override");
+            String embeddedBody = afterBlankLine(embedded.substring(lineEnd(embedded))).strip();
+
+            Response response = dispatch(override != null ? override : requestLine[0], URI.create(requestLine[1]), embeddedBody);
+            out.append("--").append(responseBoundary).append("\r\n")
+                    .append("Content-Type: application/http\r\n")
+                    .append("Content-ID: <response-").append(contentId != null ? contentId.replaceAll("[<>]", "") : partNumber).append(">\r\n")
+                    .append("\r\n")
+                    .append("HTTP/1.1 ").append(response.status).append(' ').append(reason(response.status)).append("\r\n");
+            if (response.status != 204) {
+                byte[] json = response.body.getBytes(StandardCharsets.UTF_8);
+                out.append("Content-Type: application/json; charset=UTF-8\r\n")
+                        .append("Content-Length: ").append(json.length).append("\r\n")
+                        .append("\r\n")
+                        .append(response.body).append("\r\n");
+            } else {
+                out.append("\r\n");
+            }
+        }
+        out.append("--").append(responseBoundary).append("--\r\n");
+
+        byte[] bytes = out.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "multipart/mixed; boundary=" + responseBoundary);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream stream = exchange.getResponseBody()) {
+            stream.write(bytes);
+        }
+    }
+
+    private Response dispatch(String method, URI uri, String body) {
+        Matcher matcher = EVENTS_PATH.matcher(uri.getPath());
+        if (!matcher.matches()) {
+            return error(404, "Not Found");
+        }
+        String calendarId = URLDecoder.decode(matcher.group(1), StandardCharsets.UTF_8);
+        String eventId = matcher.group(2);
+        Map<String, ObjectNode> events = calendars.computeIfAbsent(calendarId, k -> new ConcurrentHashMap<>());
+
+        try {
+            switch (method) {
+                case "POST":
+                    if (eventId != null) {
+                        return error(405, "Method Not Allowed");
+                    }
+                    ObjectNode created = (ObjectNode) MAPPER.readTree(body.isEmpty() ? "{}" : body);
+                    String id = UUID.randomUUID().toString().replace("-", "");
+                    created.put("id", id).put("status", "confirmed");
+                    touch(created);
+                    events.put(id, created);
+                    return new Response(200, render(created));
+                case "GET":
+                    if (eventId == null) {
+                        return list(events, uri.getRawQuery());
+                    }
+                    ObjectNode found = events.get(eventId);
+                    return found != null ? new Response(200, render(found)) : error(404, "Not Found");
+                case "PATCH":
+                case "PUT":
+                    ObjectNode existing = eventId != null ? events.get(eventId) : null;
+                    if (existing == null || "cancelled".equals(existing.path("status").asText())) {
+                        return error(404, "Not Found");
+                    }
+                    ObjectNode changes = (ObjectNode) MAPPER.readTree(body.isEmpty() ? "{}" : body);
+                    if (method.equals("PUT")) {
+                        existing.removeAll();
+                        existing.put("id", eventId).put("status", "confirmed");
+                    }
+                    existing.setAll(changes);
+                    touch(existing);
+                    return new Response(200, render(existing));
+                case "DELETE":
+                    ObjectNode deleted = eventId != null ? events.get(eventId) : null;
+                    if (deleted == null) {
+                        return error(404, "Not Found");
+                    }
+                    if ("cancelled".equals(deleted.path("status").asText())) {
+                        return error(410, "Resource has been deleted");
+                    }
+                    deleted.put("status", "cancelled");
+                    touch(deleted);
+                    return new Response(204, "");
+                default:
+                    return error(405, "Method Not Allowed");
+            }
+        } catch (IOException | ClassCastException e) {
+            return error(400, "Bad Request: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Full list (confirmed events only) or, with a syncToken, every event changed since that
+     * token including cancelled ones. Pagination is not simulated.
+     */
+    private Response list(Map<String, ObjectNode> events, String rawQuery) {
+        Map<String, String> query = parseQuery(rawQuery);
+        String syncToken = query.get("syncToken");
+        long since = 0;
+        if (syncToken != null) {
+            try {
+                since = Long.parseLong(syncToken.substring(1));
+            } catch (RuntimeException e) {
+                return error(410, "Sync token is no longer valid, a full sync is required.");
+            }
+        }
+        ArrayNode items = MAPPER.createArrayNode();
+        for (ObjectNode event : events.values()) {
+            boolean cancelled = "cancelled".equals(event.path("status").asText());
+            if (syncToken != null ? event.path("_seq").asLong() > since : !cancelled) {
+                ObjectNode copy = event.deepCopy();
+                copy.remove("_seq");
+                items.add(copy);
+            }
+        }
+        ObjectNode result = MAPPER.createObjectNode();
+        result.put("kind", "calendar#events");
+        result.set("items", items);
+        result.put("nextSyncToken", "s" + sequence.get());
+        return new Response(200, result.toString());
+    }
+
+    private static String render(ObjectNode event) {
+        ObjectNode copy = event.deepCopy();
+        copy.remove("_seq");
+        return copy.toString();
+    }
+
+    private void touch(ObjectNode event) {
+        event.put("_seq", sequence.incrementAndGet());
+        event.put("updated", java.time.Instant.now().toString());
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    private static Response error(int status, String message) {
+        ObjectNode error = MAPPER.createObjectNode();
+        error.putObject("error").put("code", status).put("message", message);
+        return new Response(status, error.toString());
+    }
+
+    private static String boundaryOf(String contentType) {
+        for (String param : contentType.split(";")) {
+            String p = param.trim();
+            if (p.startsWith("boundary=")) {
+                return p.substring("boundary=".length()).replace("\"", "");
+            }
+        }
+        throw new IllegalArgumentException("No multipart boundary in " + contentType);
+    }
+
+    private static String partHeaders(String part) {
+        String stripped = part.replaceFirst("^\\r?\\n", "");
+        int end = stripped.indexOf("\r\n\r\n");
+        if (end < 0) {
+            end = stripped.indexOf("\n\n");
+        }
+        return end < 0 ? stripped : stripped.substring(0, end);
+    }
+
+    private static String afterBlankLine(String text) {
+        String stripped = text.replaceFirst("^\\r?\\n", "");
+        int crlf = stripped.indexOf("\r\n\r\n");
+        int lf = stripped.indexOf("\n\n");
+        if (crlf >= 0 && (lf < 0 || crlf <= lf)) {
+            return stripped.substring(crlf + 4);
+        }
+        return lf >= 0 ? stripped.substring(lf + 2) : "";
+    }
+
+    private static String headerValue(String headers, String name) {
+        for (String line : headers.split("\\r?\\n")) {
+            int colon = line.indexOf(':');
+            if (colon > 0 && line.substring(0, colon).trim().equalsIgnoreCase(name)) {
+                return line.substring(colon + 1).trim();
+            }
+        }
+        return null;
+    }
+
+    private static int lineEnd(String text) {
+        int end = text.indexOf('\n');
+        return end < 0 ? text.length() : end;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static String reason(int status) {
+        switch (status) {
+            case 200: return "OK";
+            case 204: return "No Content";
+            case 400: return "Bad Request";
+            case 404: return "Not Found";
+            case 405: return "Method Not Allowed";
+            case 410: return "Gone";
+            default: return "Error";
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Response {
+        private final int status;
+        private final String body;
+
+        private Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
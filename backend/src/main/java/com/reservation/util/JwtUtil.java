@@ -1,29 +1,62 @@
 package com.reservation.util;
 
+import com.reservation.model.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies HS256 tokens. The signing key and the parser are built once; the
+ * parser is immutable and thread-safe. Callers that need several claims should parse the
+ * token once with {@link #parseToken(String)} and read everything from the returned
+ * {@link Claims} instead of calling the single-claim helpers repeatedly.
+ *
+ * Tokens issued for a {@link User} carry the user id, role and a user version, so a
+ * request can be authenticated from the token alone. The version is a fingerprint of the
+ * role and password hash: changing either invalidates tokens issued before.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${app.security.jwt.secret}")
-    private String secret;
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_USER_VERSION = "ver";
 
-    @Value("${app.security.jwt.expiration}")
-    private Long expiration;
+    private final Long expiration;
+    private final Key signingKey;
+    private final JwtParser parser;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    public JwtUtil(@Value("${app.security.jwt.secret}") String secret,
+                   @Value("${app.security.jwt.expiration}") Long expiration) {
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    /**
+     * Verify the signature and expiry of the token and return its claims.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims parseToken(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String extractUsername(String token) {
@@ -35,25 +68,35 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(parseToken(token));
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public String generateToken(String username) {
+        Map<String, Object> claims = new HashMap<>();
+        return createToken(claims, username);
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        claims.put(CLAIM_USER_VERSION, userVersion(user));
+        return createToken(claims, user.getEmail());
     }
 
-    public String generateToken(String username) {
-        Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, username);
+    /**
+     * Short fingerprint of what a token's authority depends on (role and when the password was
+     * last changed). The hash itself is left out, so re-hashing the same password at a new
+     * BCrypt cost does not revoke the user's tokens.
+     */
+    public static String userVersion(User user) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((user.getRole() + ":" + user.getPasswordChangedAt()).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
@@ -62,12 +105,23 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Whether already-parsed claims belong to the user and have not expired.
+     */
+    public boolean isTokenValid(Claims claims, String username) {
+        return username != null && username.equals(claims.getSubject())
+                && claims.getExpiration() != null && claims.getExpiration().after(new Date());
+    }
+
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        try {
+            return isTokenValid(parseToken(token), username);
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
     }
 }
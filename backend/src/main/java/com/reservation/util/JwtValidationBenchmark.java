@@ -0,0 +1,105 @@
+package com.reservation.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Throughput of token validation as done per request by the authentication filter,
+ * comparing the previous approach (key and parser rebuilt on every claim lookup, token
+ * parsed twice) with the cached parser and single parse in {@link JwtUtil}. Each variant is
+ * warmed up first, then measured with the given number of threads.
+ *
+ * JMH is not a dependency of this project, so this is a plain main. To keep the JIT from
+ * dropping the work as dead code, every operation returns a value derived from the parsed
+ * claims; each thread folds these into a local sink that is published and printed at the end.
+ *
+ * Usage: java com.reservation.util.JwtValidationBenchmark [threads] [seconds]
+ */
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "MySecureJWTSecretKeyForReservationSystemThatIsAtLeast256BitsLongAndSecure2024!";
+    private static final String USER = "admin@university.com";
+    // Results of all measured operations, so none of them can be optimized away
+    private static final LongAdder SINK = new LongAdder();
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 3600000L);
+        String token = jwtUtil.generateToken(USER);
+
+        ToLongFunction<String> legacy = jwt -> {
+            String subject = legacyParse(jwt).getSubject();
+            Claims claims = legacyParse(jwt);
+            boolean valid = subject.equals(USER) && claims.getExpiration().after(new java.util.Date());
+            if (!valid) {
+                throw new IllegalStateException("token rejected");
+            }
+            return subject.hashCode() ^ claims.getExpiration().getTime();
+        };
+        ToLongFunction<String> cached = jwt -> {
+            Claims claims = jwtUtil.parseToken(jwt);
+            if (!jwtUtil.isTokenValid(claims, USER)) {
+                throw new IllegalStateException("token rejected");
+            }
+            return claims.getSubject().hashCode() ^ claims.getExpiration().getTime();
+        };
+
+        System.out.println("JWT validation, " + threads + " thread(s), " + seconds + "s per run");
+        double legacyOps = measure("rebuild key/parser, parse twice", legacy, token, threads, seconds);
+        double cachedOps = measure("cached parser, parse once", cached, token, threads, seconds);
+        System.out.printf("Speed-up: %.1fx (sink %x)%n", cachedOps / legacyOps, SINK.sum());
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private static double measure(String name, ToLongFunction<String> operation, String token,
+                                  int threads, int seconds) throws InterruptedException {
+        run(operation, token, threads, Math.max(1, seconds / 2));
+        long ops = run(operation, token, threads, seconds);
+        double perSecond = (double) ops / seconds;
+        System.out.printf("  %-34s %,12.0f ops/s%n", name, perSecond);
+        return perSecond;
+    }
+
+    private static long run(ToLongFunction<String> operation, String token,
+                            int threads, int seconds) throws InterruptedException {
+        LongAdder ops = new LongAdder();
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                long sink = 0;
+                long count = 0;
+                while (!stop.get()) {
+                    sink ^= operation.applyAsLong(token);
+                    count++;
+                }
+                ops.add(count);
+                SINK.add(sink);
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        Thread.sleep(seconds * 1000L);
+        stop.set(true);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return ops.sum();
+    }
+}
@@ -0,0 +1,76 @@
+package com.reservation.util;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fires a burst of concurrent logins at a running backend and prints the latency
+ * distribution and status codes, e.g. to check p99 login latency during a term-start
+ * login storm and how many requests the hashing pool turns away with 503.
+ *
+ * Usage: java com.reservation.util.LoginLoadTest [baseUrl] [concurrency] [rounds] [email] [password]
+ * (defaults: http://localhost:8080 500 3 admin@reservation.com admin123)
+ */
+public class LoginLoadTest {
+
+    public static void main(String[] args) {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        String email = args.length > 3 ? args[3] : "admin@reservation.com";
+        String password = args.length > 4 ? args[4] : "admin123";
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .timeout(Duration.ofSeconds(120))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .build();
+
+        for (int round = 1; round <= rounds; round++) {
+            List<CompletableFuture<long[]>> calls = new ArrayList<>();
+            long roundStart = System.nanoTime();
+            for (int i = 0; i < concurrency; i++) {
+                long start = System.nanoTime();
+                calls.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .handle((response, error) -> new long[]{
+                                error == null ? response.statusCode() : -1,
+                                System.nanoTime() - start
+                        }));
+            }
+
+            long[] latencies = new long[concurrency];
+            Map<Long, Integer> statuses = new TreeMap<>();
+            for (int i = 0; i < concurrency; i++) {
+                long[] result = calls.get(i).join();
+                statuses.merge(result[0], 1, Integer::sum);
+                latencies[i] = result[1];
+            }
+            Arrays.sort(latencies);
+            double elapsedS = (System.nanoTime() - roundStart) / 1e9;
+
+            System.out.printf("Round %d: %d logins in %.2fs (%.0f/s)  p50 %dms  p90 %dms  p99 %dms  max %dms  status %s%n",
+                    round, concurrency, elapsedS, concurrency / elapsedS,
+                    percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                    latencies[latencies.length - 1] / 1_000_000, statuses);
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = Math.max(0, (int) Math.ceil(sorted.length * p) - 1);
+        return sorted[index] / 1_000_000;
+    }
+}
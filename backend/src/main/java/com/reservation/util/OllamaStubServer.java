@@ -0,0 +1,76 @@
+package com.reservation.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal stand-in for Ollama's /api/generate, for exercising the chatbot (including the
+ * SSE streaming path) without a model installed. Replies with a canned answer, either as a
+ * single JSON object or, when the request asks for {@code "stream": true}, as NDJSON chunks
+ * with a small delay between tokens.
+ *
+ * Usage: java com.reservation.util.OllamaStubServer [port] [tokenDelayMs]
+ * then run the backend with ollama.api.url=http://localhost:&lt;port&gt;
+ */
+public class OllamaStubServer {
+
+    private static final String[] ANSWER = (
+            "📊 In YOUR system the busiest rooms are listed in the context above. " +
+            "This reply comes from the local Ollama stub server."
+    ).split("(?<= )");
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 11435;
+        long tokenDelayMs = args.length > 1 ? Long.parseLong(args[1]) : 50;
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/api/generate", exchange -> handleGenerate(exchange, tokenDelayMs));
+        server.start();
+        System.out.println("Ollama stub listening on http://localhost:" + port + " (token delay " + tokenDelayMs + "ms)");
+    }
+
+    private static void handleGenerate(HttpExchange exchange, long tokenDelayMs) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        boolean stream = body.replace(" ", "").contains("\"stream\":true");
+
+        if (!stream) {
+            byte[] response = ("{\"model\":\"stub\",\"response\":\"" + escape(String.join("", ANSWER)) + "\",\"done\":true}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (String token : ANSWER) {
+                out.write(("{\"model\":\"stub\",\"response\":\"" + escape(token) + "\",\"done\":false}\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                sleep(tokenDelayMs);
+            }
+            out.write("{\"model\":\"stub\",\"response\":\"\",\"done\":true}\n".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
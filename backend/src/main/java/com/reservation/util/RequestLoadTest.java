@@ -0,0 +1,87 @@
+package com.reservation.util;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a fixed number of GET requests in flight against a running backend for a while and
+ * prints throughput, latency percentiles and status codes. Run it once against the backend
+ * started normally and once with {@code spring.threads.virtual.enabled=true} (Java 21
+ * runtime) to compare the two execution modes, e.g. on an endpoint that waits on the
+ * database or an external service; 503s show requests shed by the concurrency limiter.
+ *
+ * Usage: java com.reservation.util.RequestLoadTest [url] [concurrency] [seconds]
+ * (defaults: http://localhost:8080/api/events 400 30)
+ */
+public class RequestLoadTest {
+
+    public static void main(String[] args) throws InterruptedException {
+        String url = args.length > 0 ? args[0] : "http://localhost:8080/api/events";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        AtomicBoolean stop = new AtomicBoolean();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        Map<Integer, Integer> statuses = new ConcurrentHashMap<>();
+        CountDownLatch finished = new CountDownLatch(concurrency);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            new Runnable() {
+                @Override
+                public void run() {
+                    if (stop.get()) {
+                        finished.countDown();
+                        return;
+                    }
+                    long sent = System.nanoTime();
+                    client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                            .whenCompleteAsync((response, error) -> {
+                                latencies.add(System.nanoTime() - sent);
+                                statuses.merge(error == null ? response.statusCode() : -1, 1, Integer::sum);
+                                run();
+                            });
+                }
+            }.run();
+        }
+        Thread.sleep(seconds * 1000L);
+        stop.set(true);
+        finished.await();
+        double elapsedS = (System.nanoTime() - start) / 1e9;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        if (sorted.length == 0) {
+            System.out.println("No requests completed");
+            return;
+        }
+        System.out.printf("%s, %d in flight, %.1fs: %d requests (%.0f/s)%n",
+                url, concurrency, elapsedS, sorted.length, sorted.length / elapsedS);
+        System.out.printf("  p50 %dms  p90 %dms  p99 %dms  max %dms%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                sorted[sorted.length - 1] / 1_000_000);
+        System.out.println("  status " + new TreeMap<>(statuses) + "  (-1 = connection error)");
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = Math.max(0, (int) Math.ceil(sorted.length * p) - 1);
+        return sorted[index] / 1_000_000;
+    }
+}
@@ -13,6 +13,7 @@ export const AIChatbot: React.FC = () => {
   const [messages, setMessages] = useState<Message[]>([]);
   const [inputMessage, setInputMessage] = useState('');
   const [isLoading, setIsLoading] = useState(false);
+  const [isStreaming, setIsStreaming] = useState(false);
   const [suggestions, setSuggestions] = useState<string[]>([]);
   const messagesEndRef = useRef<HTMLDivElement>(null);
 
@@ -68,28 +69,62 @@ export const AIChatbot: React.FC = () => {
     setIsLoading(true);
 
     try {
-      // Send to AI service
-      const response = await fetch('/api/chatbot/message', {
+      // Stream the reply so tokens show up as soon as the model produces them
+      const response = await fetch('/api/chatbot/stream', {
         method: 'POST',
         headers: {
-          'Content-Type': 'application/json'
+          'Content-Type': 'application/json',
+          'Accept': 'text/event-stream'
         },
         body: JSON.stringify({ message: textToSend })
       });
 
-      const data = await response.json();
+      if (!response.ok || !response.body) {
+        throw new Error('Failed to get AI response');
+      }
+
+      const aiMessageId = `ai-${Date.now()}`;
+      let started = false;
+      const appendToken = (token: string) => {
+        if (!started) {
+          started = true;
+          setIsStreaming(true);
+          setMessages(prev => [...prev, { id: aiMessageId, content: token, sender: 'ai', timestamp: Date.now() }]);
+        } else {
+          setMessages(prev => prev.map(m => m.id === aiMessageId ? { ...m, content: m.content + token } : m));
+        }
+      };
+
+      const reader = response.body.getReader();
+      const decoder = new TextDecoder();
+      let buffer = '';
+      for (;;) {
+        const { done, value } = await reader.read();
+        if (done) break;
+        buffer += decoder.decode(value, { stream: true });
+
+        // SSE frames are separated by a blank line
+        let boundary;
+        while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+          const frame = buffer.slice(0, boundary);
+          buffer = buffer.slice(boundary + 2);
+
+          let eventName = 'message';
+          const dataLines: string[] = [];
+          frame.split('\n').forEach(line => {
+            if (line.startsWith('event:')) eventName = line.slice(6).trim();
+            else if (line.startsWith('data:')) dataLines.push(line.slice(5));
+          });
+          if (dataLines.length === 0) continue;
+
+          const data = JSON.parse(dataLines.join('\n'));
+          if (eventName === 'token') appendToken(data.token);
+          else if (eventName === 'error') throw new Error(data.error);
+        }
+      }
 
-      if (response.ok) {
-        // Add AI response
-        const aiMessage: Message = {
-          id: `ai-${Date.now()}`,
-          content: data.message,
-          sender: 'ai',
-          timestamp: data.timestamp || Date.now()
-        };
-        setMessages(prev => [...prev, aiMessage]);
-      } else {
-        throw new Error(data.error || 'Failed to get AI response');
+      if (!started) {
+        throw new Error('Empty AI response');
       }
     } catch (error) {
       console.error('Chatbot error:', error);
@@ -102,6 +137,7 @@ export const AIChatbot: React.FC = () => {
       setMessages(prev => [...prev, errorMessage]);
     } finally {
       setIsLoading(false);
+      setIsStreaming(false);
     }
   };
 
@@ -167,7 +203,7 @@ export const AIChatbot: React.FC = () => {
               </div>
             ))}
 
-            {isLoading && (
+            {isLoading && !isStreaming && (
               <div className="message ai-message">
                 <div className="message-content typing-indicator">
                   <span></span>